@@ -0,0 +1,112 @@
+#!/usr/bin/env bash
+#
+# Measures time to first response and resident memory at startup of the application in several modes:
+#
+#   jvm      plain JVM
+#   cds      JVM with a class data sharing archive created by a training run
+#   aot      JVM running the Spring AOT generated initialization code
+#   aot-cds  both of the above
+#   native   GraalVM native image, when ./gradlew nativeCompile has built one
+#
+# Usage: scripts/startup-benchmark.sh <executable jar> [runs per mode] [output directory]
+#
+# The jar must be built with AOT processing (./gradlew bootJar does so, as the GraalVM native build tools plugin
+# is applied). Each run starts the application on a free port, polls /graphql until it answers, and then reads the
+# peak and current resident set size of the process from /proc. Medians over the runs are printed and written to
+# <output directory>/results.csv.
+set -euo pipefail
+
+jar=${1:?Usage: $0 <executable jar> [runs per mode] [output directory]}
+runs=${2:-5}
+output_directory=${3:-build/reports/startup}
+java=${JAVA_HOME:+$JAVA_HOME/bin/}java
+work_directory=$output_directory/work
+native_executable=build/native/nativeCompile/graphql-java-playground
+
+rm -rf "$work_directory"
+mkdir -p "$work_directory"
+
+# CDS archives only match the exact class path they were created with, so the jar is extracted once
+"$java" -Djarmode=tools -jar "$jar" extract --destination "$work_directory/application" > /dev/null
+application_jar=$(find "$work_directory/application" -maxdepth 1 -name '*.jar' | head -n 1)
+
+free_port() {
+  local port
+  while :; do
+    port=$((20000 + RANDOM % 20000))
+    if ! (exec 3<>"/dev/tcp/127.0.0.1/$port") 2> /dev/null; then
+      echo "$port"
+      return
+    fi
+  done
+}
+
+# Runs the application until its context is refreshed, so the JVM writes the class data sharing archive on exit.
+train() {
+  local archive=$1
+  shift
+  "$java" -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" \
+    -jar "$application_jar" --server.port=0 > "$work_directory/training.log" 2>&1
+}
+
+# Sets the application_command array to the command starting the application in the given mode.
+command_for() {
+  case $1 in
+    jvm) application_command=("$java" -jar "$application_jar") ;;
+    cds) application_command=("$java" -XX:SharedArchiveFile="$work_directory/cds.jsa" -jar "$application_jar") ;;
+    aot) application_command=("$java" -Dspring.aot.enabled=true -jar "$application_jar") ;;
+    aot-cds) application_command=("$java" -XX:SharedArchiveFile="$work_directory/aot-cds.jsa" -Dspring.aot.enabled=true -jar "$application_jar") ;;
+    native) application_command=("$native_executable") ;;
+  esac
+}
+
+# Prints "<milliseconds to first response> <peak RSS in KiB> <RSS in KiB>" for a single run.
+measure() {
+  local mode=$1 port pid start_nanos first_response_nanos peak_rss rss
+  port=$(free_port)
+  command_for "$mode"
+  start_nanos=$(date +%s%N)
+  "${application_command[@]}" --server.port="$port" > "$work_directory/$mode.log" 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null -H 'Content-Type: application/json' -d '{"query":"{ __typename }"}' \
+      "http://127.0.0.1:$port/graphql"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "The application exited before answering, see $work_directory/$mode.log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  first_response_nanos=$(date +%s%N)
+  peak_rss=$(awk '/^VmHWM:/ { print $2 }' "/proc/$pid/status")
+  rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status")
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$(((first_response_nanos - start_nanos) / 1000000)) $peak_rss $rss"
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print (NR % 2 ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2)) }'
+}
+
+train "$work_directory/cds.jsa"
+train "$work_directory/aot-cds.jsa" -Dspring.aot.enabled=true
+
+modes=(jvm cds aot aot-cds)
+if [[ -x $native_executable ]]; then
+  modes+=(native)
+fi
+
+echo "mode,first_response_ms,peak_rss_kib,rss_kib" > "$output_directory/results.csv"
+printf '%-8s %20s %15s %10s\n' mode first-response-ms peak-rss-MiB rss-MiB
+for mode in "${modes[@]}"; do
+  samples=$work_directory/$mode.samples
+  : > "$samples"
+  for ((run = 0; run < runs; run++)); do
+    measure "$mode" >> "$samples"
+  done
+  first_response_ms=$(cut -d' ' -f1 "$samples" | median)
+  peak_rss_kib=$(cut -d' ' -f2 "$samples" | median)
+  rss_kib=$(cut -d' ' -f3 "$samples" | median)
+  echo "$mode,$first_response_ms,$peak_rss_kib,$rss_kib" >> "$output_directory/results.csv"
+  printf '%-8s %20d %15d %10d\n' "$mode" "$first_response_ms" $((peak_rss_kib / 1024)) $((rss_kib / 1024))
+done
@@ -0,0 +1,535 @@
+package com.vinilemess.graphqljavaplayground.codegen;
+
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.ListType;
+import graphql.language.NonNullType;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.VariableDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates a {@code GraphQlOperation} implementation for every operation in the {@code .graphql} files of a
+ * directory.
+ * <p>
+ * Each operation file is validated against the schema loaded from the {@code .graphqls} files of the schema
+ * directory. For each named query or mutation, the generator writes a class holding the document and its SHA-256
+ * hash as constants, a builder for its variables, and nested records mirroring its selection set, each with a
+ * decoder reading it from a Jackson {@code JsonParser} without reflection.
+ * <p>
+ * Usage: {@code GraphQlOperationGenerator <schema directory> <operations directory> <output directory> <package>}.
+ * Invalid documents and unsupported constructs are reported on standard error and make the generator exit with
+ * status {@code 1}, so the build fails.
+ */
+public class GraphQlOperationGenerator {
+    private static final String INDENT = "    ";
+    private static final String READERS = "GraphQlJsonReaders";
+    private static final Set<String> RESERVED_NAMES = Set.of("jsonParser", "jsonFieldName", "variables");
+
+    private final GraphQLSchema schema;
+    private final String packageName;
+
+    GraphQlOperationGenerator(final GraphQLSchema schema, final String packageName) {
+        this.schema = schema;
+        this.packageName = packageName;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: GraphQlOperationGenerator <schema directory> <operations directory> <output directory> <package>");
+            System.exit(2);
+        }
+        final GraphQlOperationGenerator generator = new GraphQlOperationGenerator(loadSchema(Path.of(args[0])), args[3]);
+        final Path outputDirectory = Path.of(args[2]).resolve(args[3].replace('.', '/'));
+        deleteRecursively(Path.of(args[2]));
+        Files.createDirectories(outputDirectory);
+
+        final List<String> errors = new ArrayList<>();
+        for (final Path operationFile : listFiles(Path.of(args[1]), ".graphql")) {
+            errors.addAll(generator.generate(operationFile, outputDirectory));
+        }
+        if (!errors.isEmpty()) {
+            errors.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    static GraphQLSchema loadSchema(final Path schemaDirectory) throws IOException {
+        final SchemaParser schemaParser = new SchemaParser();
+        final TypeDefinitionRegistry typeDefinitionRegistry = new TypeDefinitionRegistry();
+        for (final Path schemaFile : listFiles(schemaDirectory, ".graphqls")) {
+            typeDefinitionRegistry.merge(schemaParser.parse(schemaFile.toFile()));
+        }
+        return UnExecutableSchemaGenerator.makeUnExecutableSchema(typeDefinitionRegistry);
+    }
+
+    /**
+     * Validates an operation file and writes a class for each of its operations.
+     *
+     * @return the problems found in the file, empty if its classes were written.
+     */
+    List<String> generate(final Path operationFile, final Path outputDirectory) throws IOException {
+        final Document document;
+        try {
+            document = Parser.parse(Files.readString(operationFile));
+        } catch (final InvalidSyntaxException e) {
+            return List.of(operationFile + ": " + e.getMessage());
+        }
+        final List<ValidationError> validationErrors = new Validator().validateDocument(schema, document, Locale.ENGLISH);
+        if (!validationErrors.isEmpty()) {
+            return validationErrors.stream()
+                    .map(validationError -> operationFile + ": " + validationError.getDescription() + " " + validationError.getLocations())
+                    .toList();
+        }
+
+        final String documentText = AstPrinter.printAstCompact(document);
+        final Map<String, FragmentDefinition> fragments = document.getDefinitionsOfType(FragmentDefinition.class)
+                .stream()
+                .collect(Collectors.toMap(FragmentDefinition::getName, fragment -> fragment));
+        final List<String> errors = new ArrayList<>();
+        for (final OperationDefinition operation : document.getDefinitionsOfType(OperationDefinition.class)) {
+            try {
+                final String className = className(operation);
+                final String source = new OperationWriter(operationFile, operation, className, documentText, fragments).write();
+                Files.writeString(outputDirectory.resolve(className + ".java"), source);
+            } catch (final UnsupportedDocumentException e) {
+                errors.add(operationFile + ": " + e.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    private static String className(final OperationDefinition operation) {
+        if (operation.getName() == null) {
+            throw new UnsupportedDocumentException("Operations must be named");
+        }
+        return switch (operation.getOperation()) {
+            case QUERY -> capitalize(operation.getName()) + "Query";
+            case MUTATION -> capitalize(operation.getName()) + "Mutation";
+            default -> throw new UnsupportedDocumentException(operation.getOperation() + " operations are not supported: " + operation.getName());
+        };
+    }
+
+    /**
+     * Writes the class of a single operation.
+     */
+    private class OperationWriter {
+        private final Path operationFile;
+        private final OperationDefinition operation;
+        private final String className;
+        private final String documentText;
+        private final Map<String, FragmentDefinition> fragments;
+        private final StringBuilder source = new StringBuilder();
+
+        private OperationWriter(final Path operationFile,
+                                final OperationDefinition operation,
+                                final String className,
+                                final String documentText,
+                                final Map<String, FragmentDefinition> fragments) {
+            this.operationFile = operationFile;
+            this.operation = operation;
+            this.className = className;
+            this.documentText = documentText;
+            this.fragments = fragments;
+        }
+
+        private String write() {
+            final GraphQLFieldsContainer rootType = switch (operation.getOperation()) {
+                case MUTATION -> schema.getMutationType();
+                default -> schema.getQueryType();
+            };
+            final Deque<String> enclosingNames = new ArrayDeque<>(List.of(className));
+            final RecordModel data = recordModel("Data", rootType, List.of(operation.getSelectionSet()), enclosingNames);
+            final List<VariableModel> variables = operation.getVariableDefinitions().stream().map(this::variableModel).toList();
+
+            line(0, "package " + packageName + ";");
+            line(0, "");
+            line(0, "import com.fasterxml.jackson.core.JsonParser;");
+            line(0, "import com.fasterxml.jackson.core.JsonToken;");
+            line(0, "import com.vinilemess.graphqljavaplayground.graphql.client.GraphQlJsonReaders;");
+            line(0, "import com.vinilemess.graphqljavaplayground.graphql.client.GraphQlOperation;");
+            line(0, "");
+            line(0, "import java.io.IOException;");
+            line(0, "import java.util.Collections;");
+            line(0, "import java.util.LinkedHashMap;");
+            line(0, "import java.util.List;");
+            line(0, "import java.util.Map;");
+            line(0, "");
+            line(0, "/**");
+            line(0, " * The {@code " + operation.getName() + "} " + operation.getOperation().name().toLowerCase(Locale.ROOT)
+                    + " of {@code " + operationFile.getFileName() + "}.");
+            line(0, " * <p>");
+            line(0, " * Generated by {@code GraphQlOperationGenerator}, do not edit.");
+            line(0, " */");
+            line(0, "public final class " + className + " implements GraphQlOperation<" + className + ".Data> {");
+            line(1, "public static final String DOCUMENT = " + javaString(documentText) + ";");
+            line(1, "public static final String OPERATION_NAME = " + javaString(operation.getName()) + ";");
+            line(1, "public static final String DOCUMENT_HASH = " + javaString(sha256Hex(documentText)) + ";");
+            line(0, "");
+            line(1, "private final Map<String, Object> variables;");
+            line(0, "");
+            line(1, "private " + className + "(final Map<String, Object> variables) {");
+            line(2, "this.variables = variables;");
+            line(1, "}");
+            line(0, "");
+            line(1, "public static Builder builder() {");
+            line(2, "return new Builder();");
+            line(1, "}");
+            override("String document()", "DOCUMENT");
+            override("String operationName()", "OPERATION_NAME");
+            override("String documentHash()", "DOCUMENT_HASH");
+            override("Map<String, Object> variables()", "variables");
+            override("Data decodeData(final JsonParser jsonParser) throws IOException", "Data.read(jsonParser)");
+            line(0, "");
+            writeBuilder(variables);
+            line(0, "");
+            writeRecord(data, 1);
+            line(0, "}");
+            return source.toString();
+        }
+
+        private void writeBuilder(final List<VariableModel> variables) {
+            line(1, "public static final class Builder {");
+            line(2, "private final Map<String, Object> variables = new LinkedHashMap<>();");
+            line(0, "");
+            line(2, "private Builder() {");
+            line(2, "}");
+            for (final VariableModel variable : variables) {
+                line(0, "");
+                line(2, "public Builder " + variable.javaName() + "(final " + variable.javaType() + " " + variable.javaName() + ") {");
+                line(3, "variables.put(" + javaString(variable.name()) + ", " + variable.javaName() + ");");
+                line(3, "return this;");
+                line(2, "}");
+            }
+            line(0, "");
+            line(2, "public " + className + " build() {");
+            for (final VariableModel variable : variables) {
+                if (variable.required()) {
+                    line(3, "if (variables.get(" + javaString(variable.name()) + ") == null) {");
+                    line(4, "throw new IllegalStateException(\"Variable " + variable.name() + " is required\");");
+                    line(3, "}");
+                }
+            }
+            line(3, "return new " + className + "(Collections.unmodifiableMap(new LinkedHashMap<>(variables)));");
+            line(2, "}");
+            line(1, "}");
+        }
+
+        private void writeRecord(final RecordModel record, final int level) {
+            final String components = record.components()
+                    .stream()
+                    .map(component -> component.javaType() + " " + component.javaName())
+                    .collect(Collectors.joining(", "));
+            line(level, "public record " + record.name() + "(" + components + ") {");
+            line(0, "");
+            line(level + 1, "static " + record.name() + " read(final JsonParser jsonParser) throws IOException {");
+            line(level + 2, "if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {");
+            line(level + 3, "return null;");
+            line(level + 2, "}");
+            line(level + 2, READERS + ".expectToken(jsonParser, JsonToken.START_OBJECT);");
+            for (final ComponentModel component : record.components()) {
+                line(level + 2, component.javaType() + " " + component.javaName() + " = null;");
+            }
+            line(level + 2, "while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {");
+            line(level + 3, "final String jsonFieldName = jsonParser.currentName();");
+            line(level + 3, "jsonParser.nextToken();");
+            line(level + 3, "switch (jsonFieldName) {");
+            for (final ComponentModel component : record.components()) {
+                line(level + 4, "case " + javaString(component.responseKey()) + " -> " + component.javaName() + " = " + component.readExpression() + ";");
+            }
+            line(level + 4, "default -> jsonParser.skipChildren();");
+            line(level + 3, "}");
+            line(level + 2, "}");
+            final String arguments = record.components().stream().map(ComponentModel::javaName).collect(Collectors.joining(", "));
+            line(level + 2, "return new " + record.name() + "(" + arguments + ");");
+            line(level + 1, "}");
+            for (final ComponentModel component : record.components()) {
+                if (component.nestedRecord() != null) {
+                    line(0, "");
+                    writeRecord(component.nestedRecord(), level + 1);
+                }
+            }
+            line(level, "}");
+        }
+
+        private RecordModel recordModel(final String name,
+                                        final GraphQLFieldsContainer type,
+                                        final List<SelectionSet> selectionSets,
+                                        final Deque<String> enclosingNames) {
+            enclosingNames.push(name);
+            final List<ComponentModel> components = new ArrayList<>();
+            collectFields(type, selectionSets, new LinkedHashMap<>()).forEach((responseKey, fields) ->
+                    components.add(componentModel(type, responseKey, fields, enclosingNames)));
+            enclosingNames.pop();
+            return new RecordModel(name, components);
+        }
+
+        private ComponentModel componentModel(final GraphQLFieldsContainer parentType,
+                                              final String responseKey,
+                                              final List<Field> fields,
+                                              final Deque<String> enclosingNames) {
+            final String javaName = javaName(responseKey);
+            final String fieldName = fields.getFirst().getName();
+            if (fieldName.equals("__typename")) {
+                return new ComponentModel(responseKey, javaName, "String", READERS + ".readString(jsonParser)", null);
+            }
+            final GraphQLFieldDefinition fieldDefinition = parentType.getFieldDefinition(fieldName);
+            GraphQLType type = fieldDefinition.getType();
+            int listDepth = 0;
+            while (type instanceof GraphQLNonNull || type instanceof GraphQLList) {
+                if (type instanceof final GraphQLList list) {
+                    listDepth++;
+                    type = list.getWrappedType();
+                } else {
+                    type = ((GraphQLNonNull) type).getWrappedType();
+                }
+            }
+
+            final String elementType;
+            final String elementReader;
+            RecordModel nestedRecord = null;
+            switch (type) {
+                case final GraphQLScalarType scalarType -> {
+                    elementType = javaScalarType(scalarType.getName());
+                    elementReader = READERS + "::read" + elementType;
+                }
+                case final GraphQLEnumType ignored -> {
+                    elementType = "String";
+                    elementReader = READERS + "::readString";
+                }
+                case final GraphQLFieldsContainer fieldsContainer -> {
+                    String recordName = capitalize(javaName);
+                    while (enclosingNames.contains(recordName)) {
+                        recordName += "Value";
+                    }
+                    final List<SelectionSet> selectionSets = fields.stream().map(Field::getSelectionSet).toList();
+                    nestedRecord = recordModel(recordName, fieldsContainer, selectionSets, enclosingNames);
+                    elementType = recordName;
+                    elementReader = recordName + "::read";
+                }
+                default -> throw new UnsupportedDocumentException("Fields of type " + ((GraphQLNamedType) type).getName()
+                        + " are not supported: " + responseKey);
+            }
+
+            String javaType = elementType;
+            for (int i = 0; i < listDepth; i++) {
+                javaType = "List<" + javaType + ">";
+            }
+            final String readExpression = listDepth == 0
+                    ? elementReader.replace("::", ".") + "(jsonParser)"
+                    : READERS + ".readList(jsonParser, " + listElementReader(elementReader, listDepth - 1) + ")";
+            return new ComponentModel(responseKey, javaName, javaType, readExpression, nestedRecord);
+        }
+
+        /**
+         * Groups the fields selected on a type by response key, flattening fragments on that same type.
+         */
+        private Map<String, List<Field>> collectFields(final GraphQLFieldsContainer type,
+                                                       final List<SelectionSet> selectionSets,
+                                                       final Map<String, List<Field>> fieldsByResponseKey) {
+            for (final SelectionSet selectionSet : selectionSets) {
+                for (final Selection<?> selection : selectionSet.getSelections()) {
+                    switch (selection) {
+                        case final Field field -> fieldsByResponseKey
+                                .computeIfAbsent(field.getResultKey(), responseKey -> new ArrayList<>())
+                                .add(field);
+                        case final InlineFragment inlineFragment -> {
+                            requireSameType(type, inlineFragment.getTypeCondition());
+                            collectFields(type, List.of(inlineFragment.getSelectionSet()), fieldsByResponseKey);
+                        }
+                        case final FragmentSpread fragmentSpread -> {
+                            final FragmentDefinition fragment = fragments.get(fragmentSpread.getName());
+                            requireSameType(type, fragment.getTypeCondition());
+                            collectFields(type, List.of(fragment.getSelectionSet()), fieldsByResponseKey);
+                        }
+                        default -> throw new UnsupportedDocumentException("Unsupported selection " + selection);
+                    }
+                }
+            }
+            return fieldsByResponseKey;
+        }
+
+        private VariableModel variableModel(final VariableDefinition variableDefinition) {
+            final boolean required = variableDefinition.getType() instanceof NonNullType
+                    && variableDefinition.getDefaultValue() == null;
+            return new VariableModel(variableDefinition.getName(), javaName(variableDefinition.getName()),
+                    javaInputType(variableDefinition.getType()), required);
+        }
+
+        private String javaInputType(final Type<?> type) {
+            return switch (type) {
+                case final NonNullType nonNullType -> javaInputType(nonNullType.getType());
+                case final ListType listType -> "List<" + javaInputType(listType.getType()) + ">";
+                case final TypeName typeName when schema.getType(typeName.getName()) instanceof GraphQLEnumType -> "String";
+                case final TypeName typeName when schema.getType(typeName.getName()) instanceof GraphQLScalarType ->
+                        javaScalarType(typeName.getName());
+                case final TypeName typeName -> throw new UnsupportedDocumentException(
+                        "Variables of type " + typeName.getName() + " are not supported");
+                default -> throw new UnsupportedDocumentException("Unsupported variable type " + type);
+            };
+        }
+
+        private void override(final String signature, final String returnedValue) {
+            line(0, "");
+            line(1, "@Override");
+            line(1, "public " + signature + " {");
+            line(2, "return " + returnedValue + ";");
+            line(1, "}");
+        }
+
+        private void line(final int level, final String text) {
+            if (!text.isEmpty()) {
+                source.append(INDENT.repeat(level)).append(text);
+            }
+            source.append('\n');
+        }
+    }
+
+    private record RecordModel(String name, List<ComponentModel> components) {
+    }
+
+    private record ComponentModel(String responseKey, String javaName, String javaType, String readExpression,
+                                  RecordModel nestedRecord) {
+    }
+
+    private record VariableModel(String name, String javaName, String javaType, boolean required) {
+    }
+
+    private static void requireSameType(final GraphQLFieldsContainer type, final TypeName typeCondition) {
+        if (typeCondition != null && !typeCondition.getName().equals(type.getName())) {
+            throw new UnsupportedDocumentException("Fragments on " + typeCondition.getName()
+                    + " within a selection on " + type.getName() + " are not supported");
+        }
+    }
+
+    private static String javaScalarType(final String scalarName) {
+        return switch (scalarName) {
+            case "String", "ID" -> "String";
+            case "Int" -> "Integer";
+            case "Float" -> "Double";
+            case "Boolean" -> "Boolean";
+            default -> throw new UnsupportedDocumentException("Custom scalar " + scalarName + " is not supported");
+        };
+    }
+
+    /**
+     * Returns a reader for the elements of a list nested {@code depth} levels deep, e.g. a lambda reading a list of
+     * {@code elementReader} values for a list of lists.
+     */
+    private static String listElementReader(final String elementReader, final int depth) {
+        if (depth == 0) {
+            return elementReader;
+        }
+        final String parameter = "listParser" + depth;
+        return parameter + " -> " + READERS + ".readList(" + parameter + ", " + listElementReader(elementReader, depth - 1) + ")";
+    }
+
+    private static String javaName(final String graphQlName) {
+        return SourceVersion.isKeyword(graphQlName) || RESERVED_NAMES.contains(graphQlName) ? graphQlName + "_" : graphQlName;
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String javaString(final String value) {
+        final StringBuilder literal = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        literal.append("\\u%04x".formatted((int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static String sha256Hex(final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static List<Path> listFiles(final Path directory, final String extension) throws IOException {
+        if (Files.notExists(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(extension))
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+        }
+    }
+
+    private static void deleteRecursively(final Path directory) throws IOException {
+        if (Files.notExists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static class UnsupportedDocumentException extends RuntimeException {
+        UnsupportedDocumentException(final String message) {
+            super(message);
+        }
+    }
+}
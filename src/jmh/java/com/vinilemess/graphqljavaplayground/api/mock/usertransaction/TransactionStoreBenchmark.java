@@ -0,0 +1,53 @@
+package com.vinilemess.graphqljavaplayground.api.mock.usertransaction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks page and range queries on a {@link TransactionStore} generated by {@link TransactionStoreConfiguration},
+ * up to the tens of millions of transactions the store is laid out for. Each query reads every returned transaction,
+ * so the cost of materializing {@link Transaction} records from the columns is included.
+ */
+@State(Scope.Benchmark)
+public class TransactionStoreBenchmark {
+    private static final int SIGNATURES = 1000;
+    private static final int PAGE_SIZE = 100;
+    private static final LocalDateTime FIRST_TRANSACTION_DATE_TIME = LocalDateTime.of(2049, 10, 5, 0, 0, 0);
+
+    @Param({"100000", "10000000"})
+    public int size;
+
+    private TransactionStore transactionStore;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        transactionStore = new TransactionStoreConfiguration().transactionStore(size, SIGNATURES, 42);
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public void findPage(final Blackhole blackhole) {
+        final int offset = random.nextInt(Math.max(1, size / SIGNATURES - PAGE_SIZE));
+        transactionStore.findByUserSignature(randomSignature(), null, null, offset, PAGE_SIZE).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void findRange(final Blackhole blackhole) {
+        // transactions are three hours apart on average, so a day holds about eight of them
+        final LocalDateTime from = FIRST_TRANSACTION_DATE_TIME.plusDays(random.nextInt(Math.max(1, size / SIGNATURES / 8)));
+        transactionStore.findByUserSignature(randomSignature(), from, from.plusDays(1), 0, Integer.MAX_VALUE)
+                .forEach(blackhole::consume);
+    }
+
+    private String randomSignature() {
+        return "user-signature-" + random.nextInt(SIGNATURES);
+    }
+}
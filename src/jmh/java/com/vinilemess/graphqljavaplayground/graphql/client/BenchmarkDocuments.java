@@ -0,0 +1,46 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import java.util.StringJoiner;
+
+/**
+ * Builds GraphQL documents of configurable size for the client benchmarks.
+ */
+class BenchmarkDocuments {
+
+    private BenchmarkDocuments() {
+    }
+
+    /**
+     * Builds a named query on {@code userTransactionByUserSignature} with {@code argumentCount} placeholder arguments
+     * named {@code $arg00}, {@code $arg01}, ... and {@code selectedFieldCount} selected fields besides the real ones.
+     * Placeholder names have a fixed width so that none is a prefix of another.
+     *
+     * @param argumentCount      the number of placeholder arguments, at most 100.
+     * @param selectedFieldCount the number of additional selected fields, controlling the document size.
+     * @return the query document.
+     */
+    static String query(final int argumentCount, final int selectedFieldCount) {
+        final StringJoiner arguments = new StringJoiner(", ");
+        for (int argument = 0; argument < argumentCount; argument++) {
+            arguments.add("arg%1$02d: $arg%1$02d".formatted(argument));
+        }
+        final StringBuilder selection = new StringBuilder();
+        for (int field = 0; field < selectedFieldCount; field++) {
+            selection.append("    field").append(field).append(" {\n      id\n      name\n    }\n");
+        }
+        return """
+                query fetchUserTransactions {
+                  userTransactionByUserSignature(%s) {
+                    userSignature
+                    user {
+                      name
+                    }
+                    transactions {
+                      amount
+                      dateTime
+                    }
+                %s  }
+                }
+                """.formatted(arguments, selection);
+    }
+}
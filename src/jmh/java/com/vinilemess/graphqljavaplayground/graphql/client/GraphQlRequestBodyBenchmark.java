@@ -0,0 +1,42 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks building and serializing {@link GraphQlRequestBody}, and the operation name extraction it performs,
+ * across document sizes.
+ */
+@State(Scope.Benchmark)
+public class GraphQlRequestBodyBenchmark {
+
+    @Param({"0", "50", "500"})
+    public int selectedFieldCount;
+
+    private String query;
+    private GraphQlRequestBody requestBody;
+
+    @Setup
+    public void setup() {
+        query = BenchmarkDocuments.query(1, selectedFieldCount);
+        requestBody = GraphQlRequestBody.of(query);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return requestBody.toString();
+    }
+
+    @Benchmark
+    public String createAndSerialize() {
+        return GraphQlRequestBody.of(query).toString();
+    }
+
+    @Benchmark
+    public String extractOperationName() {
+        return GraphQlRequestBody.getOperationNameOrElseNull(query);
+    }
+}
@@ -0,0 +1,81 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinilemess.graphqljavaplayground.api.mock.usertransaction.Transaction;
+import com.vinilemess.graphqljavaplayground.api.mock.usertransaction.User;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks decoding a {@code userTransactionByUserSignature} response into {@link GraphQlResult}, as the
+ * client's {@code RestClient} does, and mapping it with {@link GraphQlResult#as(Class)}. The payload ranges from a
+ * single transaction to several megabytes.
+ */
+@State(Scope.Benchmark)
+public class GraphQlResultBenchmark {
+
+    @Param({"1", "1000", "50000"})
+    public int transactionCount;
+
+    private ObjectMapper restClientObjectMapper;
+    private byte[] payload;
+    private GraphQlResult decodedResult;
+
+    @Setup
+    public void setup() throws IOException {
+        // mirrors the ObjectMapper RestClient's Jackson message converter is created with
+        restClientObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+        payload = payload(transactionCount);
+        decodedResult = restClientObjectMapper.readValue(payload, GraphQlResult.class);
+    }
+
+    @Benchmark
+    public GraphQlResult deserialize() throws IOException {
+        return restClientObjectMapper.readValue(payload, GraphQlResult.class);
+    }
+
+    @Benchmark
+    public UserTransactionView map() {
+        return decodedResult.as(UserTransactionView.class);
+    }
+
+    @Benchmark
+    public UserTransactionView deserializeAndMap() throws IOException {
+        return restClientObjectMapper.readValue(payload, GraphQlResult.class).as(UserTransactionView.class);
+    }
+
+    private byte[] payload(final int transactionCount) throws JsonProcessingException {
+        final List<Map<String, Object>> transactions = new ArrayList<>(transactionCount);
+        final LocalDateTime firstDateTime = LocalDateTime.of(2049, 10, 5, 0, 0, 0);
+        for (int transaction = 0; transaction < transactionCount; transaction++) {
+            transactions.add(Map.of(
+                    "amount", BigDecimal.valueOf(transaction * 37L, 2).toPlainString(),
+                    "dateTime", firstDateTime.plusMinutes(transaction).toString()
+            ));
+        }
+        return restClientObjectMapper.writeValueAsBytes(Map.of("data", Map.of(
+                "userTransactionByUserSignature", Map.of(
+                        "userSignature", "user-signature-0",
+                        "user", Map.of("name", "John Doe"),
+                        "transactions", transactions
+                )
+        )));
+    }
+
+    @GraphQlAttributePath("userTransactionByUserSignature")
+    public record UserTransactionView(String userSignature, User user, List<Transaction> transactions) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link GraphqlArgumentFormatter#formatQueryWithArguments(String, Map)} across argument counts and
+ * document sizes, with a mix of string, number, enum and list arguments.
+ */
+@State(Scope.Benchmark)
+public class GraphqlArgumentFormatterBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int argumentCount;
+
+    @Param({"0", "50", "500"})
+    public int selectedFieldCount;
+
+    private String query;
+    private Map<String, Object> arguments;
+
+    @Setup
+    public void setup() {
+        query = BenchmarkDocuments.query(argumentCount, selectedFieldCount);
+        arguments = new HashMap<>();
+        for (int argument = 0; argument < argumentCount; argument++) {
+            arguments.put("arg%02d".formatted(argument), switch (argument % 4) {
+                case 0 -> "user-signature-" + argument;
+                case 1 -> argument * 1_000L;
+                case 2 -> TimeUnit.SECONDS;
+                default -> List.of("first", argument, 1.5);
+            });
+        }
+    }
+
+    @Benchmark
+    public String formatQueryWithArguments() {
+        return GraphqlArgumentFormatter.formatQueryWithArguments(query, arguments);
+    }
+}
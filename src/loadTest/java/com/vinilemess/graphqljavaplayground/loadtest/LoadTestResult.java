@@ -0,0 +1,76 @@
+package com.vinilemess.graphqljavaplayground.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a load test run. Latencies are in microseconds and measured from the intended start of each request.
+ *
+ * @param requests           the number of requests recorded.
+ * @param failures           the number of recorded requests that failed at the HTTP level.
+ * @param throughputPerSecond the number of successful responses per second.
+ * @param p50Micros          the median latency.
+ * @param p99Micros          the 99th percentile latency.
+ * @param p999Micros         the 99.9th percentile latency.
+ * @param maxMicros          the maximum latency.
+ */
+record LoadTestResult(long requests,
+                      long failures,
+                      double throughputPerSecond,
+                      long p50Micros,
+                      long p99Micros,
+                      long p999Micros,
+                      long maxMicros) {
+
+    static LoadTestResult of(final Histogram latencies, final long failures, final double throughputPerSecond) {
+        return new LoadTestResult(
+                latencies.getTotalCount(),
+                failures,
+                throughputPerSecond,
+                latencies.getValueAtPercentile(50),
+                latencies.getValueAtPercentile(99),
+                latencies.getValueAtPercentile(99.9),
+                latencies.getMaxValue()
+        );
+    }
+
+    /**
+     * Compares this result with a baseline.
+     *
+     * @param baseline  the baseline result.
+     * @param tolerance the relative regression allowed, e.g. {@code 0.2} for 20%.
+     * @return a description of every metric that regressed past the tolerance, empty if none did.
+     */
+    List<String> regressionsAgainst(final LoadTestResult baseline, final double tolerance) {
+        final List<String> regressions = new ArrayList<>();
+        checkLatency(regressions, "p50", p50Micros, baseline.p50Micros, tolerance);
+        checkLatency(regressions, "p99", p99Micros, baseline.p99Micros, tolerance);
+        checkLatency(regressions, "p999", p999Micros, baseline.p999Micros, tolerance);
+        if (throughputPerSecond < baseline.throughputPerSecond * (1 - tolerance)) {
+            regressions.add("throughput %.1f/s is below baseline %.1f/s".formatted(throughputPerSecond, baseline.throughputPerSecond));
+        }
+        if (failures > baseline.failures) {
+            regressions.add("%d failed requests, baseline had %d".formatted(failures, baseline.failures));
+        }
+        return regressions;
+    }
+
+    private static void checkLatency(final List<String> regressions,
+                                     final String percentile,
+                                     final long actualMicros,
+                                     final long baselineMicros,
+                                     final double tolerance) {
+        if (actualMicros > baselineMicros * (1 + tolerance)) {
+            regressions.add("%s latency %dus exceeds baseline %dus".formatted(percentile, actualMicros, baselineMicros));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "requests=%d failures=%d throughput=%.1f/s p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms".formatted(
+                requests, failures, throughputPerSecond,
+                p50Micros / 1000.0, p99Micros / 1000.0, p999Micros / 1000.0, maxMicros / 1000.0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.vinilemess.graphqljavaplayground.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vinilemess.graphqljavaplayground.GraphQLJavaPlaygroundApplication;
+import com.vinilemess.graphqljavaplayground.graphql.client.GraphQlClient;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots {@link GraphQLJavaPlaygroundApplication} on a random port and drives it through {@link GraphQlClient} with an
+ * {@link OpenLoopLoadGenerator}.
+ * <p>
+ * The results are written to the report file and compared with the baseline file. The process exits with status
+ * {@code 1} when any metric regressed past the tolerance, so the Gradle task running it fails. Latencies depend on
+ * the machine, so no baseline is committed: {@code ./gradlew recordLoadTestBaseline} runs the load test with
+ * {@code loadTest.updateBaseline} set, which stores its results as the baseline, and {@code ./gradlew loadTest}
+ * compares later runs on the same machine with it, recording the baseline first on a fresh checkout. Run directly
+ * without a baseline, the runner exits with status {@code 1} before starting the application.
+ */
+public class LoadTestRunner {
+    private static final String FETCH_USER_TRANSACTIONS_QUERY = """
+            query fetchUserTransactions {
+                userTransactionByUserSignature(userSignature: $userSignature) {
+                    userSignature
+                    transactions(offset: $offset, limit: 20) {
+                        amount
+                        dateTime
+                    }
+                }
+            }
+            """;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        if (!settings.updateBaseline() && Files.notExists(settings.baselineFile())) {
+            System.err.println("No baseline at " + settings.baselineFile()
+                    + ", record one on this machine with ./gradlew recordLoadTestBaseline");
+            System.exit(1);
+        }
+        final LoadTestResult result;
+        try (ConfigurableApplicationContext context = SpringApplication.run(GraphQLJavaPlaygroundApplication.class,
+                "--server.port=0",
+                "--transaction-store.simulated-latency=0s",
+                "--transaction-store.signatures=" + settings.signatures(),
+                "--logging.level.root=WARN")) {
+            final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final GraphQlClient graphQlClient = GraphQlClient.create("http://localhost:" + port);
+            final OpenLoopLoadGenerator loadGenerator = new OpenLoopLoadGenerator(
+                    settings.rate(), settings.concurrency(), settings.warmup(), settings.duration());
+            System.out.printf("Sending %.1f requests/s with up to %d in flight for %s after a %s warmup%n",
+                    settings.rate(), settings.concurrency(), settings.duration(), settings.warmup());
+            result = loadGenerator.run(sequence -> graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of(
+                            "userSignature", "user-signature-" + sequence % settings.signatures(),
+                            "offset", sequence % 5 * 20))
+                    .execute()
+                    .getResult());
+        }
+        System.out.println("Results:  " + result);
+        write(result, settings.reportFile());
+        System.exit(checkAgainstBaseline(result, settings) ? 0 : 1);
+    }
+
+    private static boolean checkAgainstBaseline(final LoadTestResult result, final LoadTestSettings settings) throws IOException {
+        if (settings.updateBaseline()) {
+            write(result, settings.baselineFile());
+            System.out.println("Baseline written to " + settings.baselineFile());
+            return true;
+        }
+        final LoadTestResult baseline = objectMapper.readValue(settings.baselineFile().toFile(), LoadTestResult.class);
+        System.out.println("Baseline: " + baseline);
+        final List<String> regressions = result.regressionsAgainst(baseline, settings.tolerance());
+        regressions.forEach(regression -> System.err.println("Regression: " + regression));
+        return regressions.isEmpty();
+    }
+
+    private static void write(final LoadTestResult result, final Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writeValue(file.toFile(), result);
+    }
+}
@@ -0,0 +1,47 @@
+package com.vinilemess.graphqljavaplayground.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of a load test run, read from {@code loadTest.*} system properties.
+ *
+ * @param rate           the intended request rate per second, independent of how fast responses arrive.
+ * @param concurrency    the number of requests that may be in flight at the same time.
+ * @param warmup         how long requests are sent before latencies are recorded.
+ * @param duration       how long latencies are recorded after the warmup.
+ * @param signatures     the number of distinct user signatures requests are spread over.
+ * @param tolerance      the relative regression allowed against the baseline, e.g. {@code 0.2} for 20%.
+ * @param baselineFile   the file holding the baseline results.
+ * @param reportFile     the file the results of this run are written to.
+ * @param updateBaseline whether the results of this run replace the baseline instead of being checked against it.
+ */
+record LoadTestSettings(double rate,
+                        int concurrency,
+                        Duration warmup,
+                        Duration duration,
+                        int signatures,
+                        double tolerance,
+                        Path baselineFile,
+                        Path reportFile,
+                        boolean updateBaseline) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Double.parseDouble(property("rate", "200")),
+                Integer.parseInt(property("concurrency", "16")),
+                Duration.parse("PT" + property("warmup", "10s")),
+                Duration.parse("PT" + property("duration", "30s")),
+                Integer.parseInt(property("signatures", "1000")),
+                Double.parseDouble(property("tolerance", "0.2")),
+                Path.of(property("baseline", "src/loadTest/baseline.json")),
+                Path.of(property("report", "build/reports/loadTest/results.json")),
+                Boolean.parseBoolean(property("updateBaseline", "false"))
+        );
+    }
+
+    private static String property(final String name, final String defaultValue) {
+        final String value = System.getProperty("loadTest." + name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
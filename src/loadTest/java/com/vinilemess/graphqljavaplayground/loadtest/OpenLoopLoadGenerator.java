@@ -0,0 +1,97 @@
+package com.vinilemess.graphqljavaplayground.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Sends requests at a fixed rate, regardless of how long previous requests take, and records their latencies.
+ * <p>
+ * Each request has an intended start time on a fixed schedule, and its latency is measured from that time rather
+ * than from when a worker picked it up. When the system under test falls behind and requests queue up waiting for a
+ * free worker, the queueing delay is part of the recorded latency, which corrects for coordinated omission: a slow
+ * response cannot hide the requests that should have been sent while it was outstanding.
+ */
+class OpenLoopLoadGenerator {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final double rate;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    OpenLoopLoadGenerator(final double rate, final int concurrency, final Duration warmup, final Duration duration) {
+        this.rate = rate;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param request the request to send, given the sequence number of the request. Throwing marks it as failed.
+     * @return the latencies and throughput of the requests intended to start after the warmup.
+     * @throws InterruptedException if interrupted while waiting for outstanding requests.
+     */
+    LoadTestResult run(final LongConsumer request) throws InterruptedException {
+        final Histogram latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong successes = new AtomicLong();
+        final AtomicLong lastCompletion = new AtomicLong();
+        final long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        final long startNanos = System.nanoTime();
+        final long measurementStartNanos = startNanos + warmup.toNanos();
+        final long endNanos = measurementStartNanos + duration.toNanos();
+
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (long sequence = 0; ; sequence++) {
+                final long intendedStartNanos = startNanos + sequence * intervalNanos;
+                if (intendedStartNanos >= endNanos) {
+                    break;
+                }
+                parkUntil(intendedStartNanos);
+                final long requestSequence = sequence;
+                workers.execute(() -> {
+                    boolean failed = false;
+                    try {
+                        request.accept(requestSequence);
+                    } catch (final RuntimeException e) {
+                        failed = true;
+                    }
+                    final long completionNanos = System.nanoTime();
+                    if (intendedStartNanos < measurementStartNanos) {
+                        return;
+                    }
+                    latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(completionNanos - intendedStartNanos));
+                    (failed ? failures : successes).incrementAndGet();
+                    lastCompletion.accumulateAndGet(completionNanos, Math::max);
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+            throw new IllegalStateException("Outstanding requests did not complete within a minute");
+        }
+        final long elapsedNanos = Math.max(lastCompletion.get(), endNanos) - measurementStartNanos;
+        final double throughputPerSecond = successes.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        return LoadTestResult.of(latencies, failures.get(), throughputPerSecond);
+    }
+
+    private static void parkUntil(final long deadlineNanos) {
+        long remainingNanos;
+        while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.vinilemess.graphqljavaplayground;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(GraphQlPlaygroundRuntimeHints.class)
 public class GraphQLJavaPlaygroundApplication {
 
     public static void main(String[] args) {
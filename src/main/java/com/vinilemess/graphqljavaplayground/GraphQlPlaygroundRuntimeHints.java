@@ -0,0 +1,29 @@
+package com.vinilemess.graphqljavaplayground;
+
+import com.vinilemess.graphqljavaplayground.graphql.client.GraphQlRequestBody;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlIncrementalPayload;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlResult;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Runtime hints for running the application ahead-of-time processed or as a GraalVM native image.
+ * <p>
+ * Spring GraphQL already registers the schema files and the types returned by controller methods. This registers
+ * what it cannot infer: the client's records that Jackson writes requests from and reads results and incremental
+ * payloads into, along with the types nested in them, such as {@code GraphQlError}. Records mapped with
+ * {@code GraphQlResult.as()} or projected with {@code GraphQlClient.queryFor()} in application code need their own
+ * hints, e.g. through {@code @RegisterReflectionForBinding}.
+ */
+class GraphQlPlaygroundRuntimeHints implements RuntimeHintsRegistrar {
+    private final BindingReflectionHintsRegistrar bindingReflectionHintsRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+        bindingReflectionHintsRegistrar.registerReflectionHints(hints.reflection(),
+                GraphQlRequestBody.class,
+                GraphQlResult.class,
+                GraphQlIncrementalPayload.class);
+    }
+}
@@ -0,0 +1,12 @@
+package com.vinilemess.graphqljavaplayground.api.mock.usertransaction;
+
+/**
+ * Thrown when the arguments of a transactions query are invalid, and reported to the caller as a
+ * {@code BAD_REQUEST} GraphQL error carrying the exception message.
+ */
+public class InvalidTransactionQueryException extends RuntimeException {
+
+    public InvalidTransactionQueryException(final String message) {
+        super(message);
+    }
+}
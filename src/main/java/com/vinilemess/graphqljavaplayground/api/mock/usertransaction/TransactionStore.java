@@ -0,0 +1,408 @@
+package com.vinilemess.graphqljavaplayground.api.mock.usertransaction;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, in-memory store of {@link Transaction}s kept in a columnar layout.
+ * <p>
+ * Instead of holding one {@link Transaction} record per row (with boxed {@link LocalDateTime} and
+ * {@link BigDecimal} values), every attribute lives in its own primitive array:
+ * <ul>
+ *   <li>transaction ids as {@code long}s</li>
+ *   <li>date times as UTC epoch milliseconds</li>
+ *   <li>amounts as unscaled {@code long}s plus a {@code byte} scale</li>
+ * </ul>
+ * User signatures are interned into a dictionary and rows are grouped per signature, so the signature
+ * index is a single offsets array: the transactions of signature {@code s} occupy the rows
+ * {@code [offsets[s], offsets[s + 1])}, sorted by date time. Range and pagination queries are therefore
+ * two binary searches followed by a sequential scan, and {@link Transaction} records are only created for
+ * the rows that are actually read.
+ * <p>
+ * A store takes about 25 bytes of heap per transaction, measured at 10^7 transactions (250 MB), against about
+ * 190 bytes per transaction for a list of {@link Transaction} records. {@code TransactionStoreBenchmark} measures
+ * queries at that scale.
+ * <p>
+ * Instances are created through {@link #builder(int)}.
+ */
+public final class TransactionStore {
+    private final Map<String, Integer> signatureIndex;
+    private final int[] signatureOffsets;
+    private final long[] ids;
+    private final long[] epochMillis;
+    private final long[] unscaledAmounts;
+    private final byte[] amountScales;
+
+    private TransactionStore(final Map<String, Integer> signatureIndex,
+                             final int[] signatureOffsets,
+                             final long[] ids,
+                             final long[] epochMillis,
+                             final long[] unscaledAmounts,
+                             final byte[] amountScales) {
+        this.signatureIndex = signatureIndex;
+        this.signatureOffsets = signatureOffsets;
+        this.ids = ids;
+        this.epochMillis = epochMillis;
+        this.unscaledAmounts = unscaledAmounts;
+        this.amountScales = amountScales;
+    }
+
+    /**
+     * Creates a new {@code Builder} sized for the expected number of transactions.
+     *
+     * @param expectedSize the expected number of transactions, used to size the column arrays up front.
+     * @return a new {@code Builder}.
+     */
+    public static Builder builder(final int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Returns the total number of transactions held by this store.
+     *
+     * @return the number of transactions.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Finds the transactions of a user signature within a date time range, ordered by date time.
+     * <p>
+     * The returned list is a read-only view over the store columns; {@link Transaction} records are
+     * materialized when elements are accessed.
+     *
+     * @param userSignature the user signature.
+     * @param from   the inclusive lower bound of the range, or {@code null} for no lower bound.
+     * @param to     the exclusive upper bound of the range, or {@code null} for no upper bound.
+     * @param offset the number of matching transactions to skip.
+     * @param limit  the maximum number of transactions to return.
+     * @return the matching transactions, empty if the signature is unknown.
+     * @throws IllegalArgumentException if {@code offset} or {@code limit} is negative.
+     */
+    public List<Transaction> findByUserSignature(final String userSignature,
+                                                 final LocalDateTime from,
+                                                 final LocalDateTime to,
+                                                 final int offset,
+                                                 final int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        final Integer signatureRef = signatureIndex.get(userSignature);
+        if (signatureRef == null) {
+            return List.of();
+        }
+        final int signatureStart = signatureOffsets[signatureRef];
+        final int signatureEnd = signatureOffsets[signatureRef + 1];
+        final int rangeStart = from == null ? signatureStart : lowerBound(signatureStart, signatureEnd, toEpochMillis(from));
+        final int rangeEnd = to == null ? signatureEnd : lowerBound(rangeStart, signatureEnd, toEpochMillis(to));
+
+        final int pageStart = (int) Math.min((long) rangeStart + offset, rangeEnd);
+        final int pageEnd = (int) Math.min((long) pageStart + limit, rangeEnd);
+        return new TransactionView(pageStart, pageEnd);
+    }
+
+    /**
+     * Returns the first row in {@code [start, end)} whose date time is not before {@code epochMilli}.
+     */
+    private int lowerBound(final int start, final int end, final long epochMilli) {
+        int low = start;
+        int high = end;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (epochMillis[mid] < epochMilli) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Transaction transactionAt(final int row) {
+        return new Transaction(
+                Long.toString(ids[row]),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis[row]), ZoneOffset.UTC),
+                BigDecimal.valueOf(unscaledAmounts[row], amountScales[row])
+        );
+    }
+
+    private static long toEpochMillis(final LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Read-only list view over a contiguous range of store rows.
+     */
+    private final class TransactionView extends AbstractList<Transaction> implements RandomAccess {
+        private final int start;
+        private final int end;
+
+        private TransactionView(final int start, final int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Transaction get(final int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return transactionAt(start + index);
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Accumulates transactions in growable primitive columns and produces an immutable {@link TransactionStore}.
+     * <p>
+     * Transactions may be added in any order; {@link #build()} groups them per signature and sorts each group
+     * by date time. Building temporarily needs about twice the memory of the final store.
+     */
+    public static final class Builder {
+        private static final int MAX_SCALE = Byte.MAX_VALUE;
+
+        private final Map<String, Integer> signatureIndex;
+        private int[] signatureRefs;
+        private long[] ids;
+        private long[] epochMillis;
+        private long[] unscaledAmounts;
+        private byte[] amountScales;
+        private int size;
+
+        private Builder(final int expectedSize) {
+            final int capacity = Math.max(expectedSize, 16);
+            this.signatureIndex = new HashMap<>();
+            this.signatureRefs = new int[capacity];
+            this.ids = new long[capacity];
+            this.epochMillis = new long[capacity];
+            this.unscaledAmounts = new long[capacity];
+            this.amountScales = new byte[capacity];
+        }
+
+        /**
+         * Interns a user signature and returns its reference, which can be passed to
+         * {@link #add(int, long, long, long, int)} to avoid repeated dictionary lookups.
+         *
+         * @param userSignature the user signature.
+         * @return the reference of the interned signature.
+         */
+        public int signatureRef(final String userSignature) {
+            return signatureIndex.computeIfAbsent(userSignature, signature -> signatureIndex.size());
+        }
+
+        /**
+         * Adds a transaction.
+         *
+         * @param userSignature the user signature the transaction belongs to.
+         * @param id            the transaction id.
+         * @param dateTime      the transaction date time, interpreted as UTC.
+         * @param amount        the transaction amount.
+         * @return this {@code Builder}.
+         * @throws IllegalArgumentException if the amount does not fit into an unscaled {@code long} with a scale
+         *                                  between 0 and 127.
+         */
+        public Builder add(final String userSignature, final long id, final LocalDateTime dateTime, final BigDecimal amount) {
+            final BigInteger unscaledAmount = amount.unscaledValue();
+            if (unscaledAmount.bitLength() >= Long.SIZE) {
+                throw new IllegalArgumentException("Amount " + amount + " does not fit into an unscaled long");
+            }
+            return add(signatureRef(userSignature), id, toEpochMillis(dateTime), unscaledAmount.longValue(), amount.scale());
+        }
+
+        /**
+         * Adds a transaction using its primitive representation.
+         *
+         * @param signatureRef   the signature reference returned by {@link #signatureRef(String)}.
+         * @param id             the transaction id.
+         * @param epochMilli     the transaction date time as UTC epoch milliseconds.
+         * @param unscaledAmount the unscaled transaction amount.
+         * @param scale          the scale of the transaction amount, between 0 and 127.
+         * @return this {@code Builder}.
+         * @throws IllegalArgumentException if the signature reference or the scale is out of range.
+         */
+        public Builder add(final int signatureRef, final long id, final long epochMilli, final long unscaledAmount, final int scale) {
+            if (signatureRef < 0 || signatureRef >= signatureIndex.size()) {
+                throw new IllegalArgumentException("Unknown signature reference " + signatureRef);
+            }
+            if (scale < 0 || scale > MAX_SCALE) {
+                throw new IllegalArgumentException("Amount scale must be between 0 and " + MAX_SCALE + " but was " + scale);
+            }
+            ensureCapacity(size + 1);
+            signatureRefs[size] = signatureRef;
+            ids[size] = id;
+            epochMillis[size] = epochMilli;
+            unscaledAmounts[size] = unscaledAmount;
+            amountScales[size] = (byte) scale;
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the {@link TransactionStore}, grouping the transactions per signature and sorting each group
+         * by date time.
+         *
+         * @return a new immutable {@link TransactionStore}.
+         */
+        public TransactionStore build() {
+            final int signatureCount = signatureIndex.size();
+            final int[] offsets = new int[signatureCount + 1];
+            for (int row = 0; row < size; row++) {
+                offsets[signatureRefs[row] + 1]++;
+            }
+            for (int signatureRef = 0; signatureRef < signatureCount; signatureRef++) {
+                offsets[signatureRef + 1] += offsets[signatureRef];
+            }
+
+            final Columns columns = new Columns(size);
+            final int[] cursors = Arrays.copyOf(offsets, signatureCount);
+            for (int row = 0; row < size; row++) {
+                final int target = cursors[signatureRefs[row]]++;
+                columns.ids[target] = ids[row];
+                columns.epochMillis[target] = epochMillis[row];
+                columns.unscaledAmounts[target] = unscaledAmounts[row];
+                columns.amountScales[target] = amountScales[row];
+            }
+            for (int signatureRef = 0; signatureRef < signatureCount; signatureRef++) {
+                columns.sortByTime(offsets[signatureRef], offsets[signatureRef + 1]);
+            }
+
+            return new TransactionStore(
+                    Map.copyOf(signatureIndex),
+                    offsets,
+                    columns.ids,
+                    columns.epochMillis,
+                    columns.unscaledAmounts,
+                    columns.amountScales
+            );
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity <= ids.length) {
+                return;
+            }
+            final int newCapacity = (int) Math.min(Math.max((long) ids.length * 3 / 2, capacity), Integer.MAX_VALUE - 8);
+            signatureRefs = Arrays.copyOf(signatureRefs, newCapacity);
+            ids = Arrays.copyOf(ids, newCapacity);
+            epochMillis = Arrays.copyOf(epochMillis, newCapacity);
+            unscaledAmounts = Arrays.copyOf(unscaledAmounts, newCapacity);
+            amountScales = Arrays.copyOf(amountScales, newCapacity);
+        }
+    }
+
+    /**
+     * Exact-size columns produced by {@link Builder#build()}, with an in-place sort that keeps the columns aligned.
+     */
+    private static final class Columns {
+        private static final int INSERTION_SORT_THRESHOLD = 32;
+
+        private final long[] ids;
+        private final long[] epochMillis;
+        private final long[] unscaledAmounts;
+        private final byte[] amountScales;
+
+        private Columns(final int size) {
+            this.ids = new long[size];
+            this.epochMillis = new long[size];
+            this.unscaledAmounts = new long[size];
+            this.amountScales = new byte[size];
+        }
+
+        /**
+         * Sorts the rows in {@code [start, end)} by date time. Already sorted ranges, the common case for
+         * generated or time-ordered data, are detected in a single pass and left untouched.
+         */
+        private void sortByTime(final int start, final int end) {
+            if (isSortedByTime(start, end)) {
+                return;
+            }
+            quickSort(start, end - 1);
+        }
+
+        private boolean isSortedByTime(final int start, final int end) {
+            for (int row = start + 1; row < end; row++) {
+                if (epochMillis[row - 1] > epochMillis[row]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void quickSort(int low, int high) {
+            while (high - low >= INSERTION_SORT_THRESHOLD) {
+                final long pivot = epochMillis[medianOfThree(low, (low + high) >>> 1, high)];
+                int left = low;
+                int right = high;
+                while (left <= right) {
+                    while (epochMillis[left] < pivot) {
+                        left++;
+                    }
+                    while (epochMillis[right] > pivot) {
+                        right--;
+                    }
+                    if (left <= right) {
+                        swap(left++, right--);
+                    }
+                }
+                // recurse into the smaller partition to bound the stack depth
+                if (right - low < high - left) {
+                    quickSort(low, right);
+                    low = left;
+                } else {
+                    quickSort(left, high);
+                    high = right;
+                }
+            }
+            insertionSort(low, high);
+        }
+
+        private int medianOfThree(final int a, final int b, final int c) {
+            final long first = epochMillis[a];
+            final long second = epochMillis[b];
+            final long third = epochMillis[c];
+            if (first < second) {
+                return second < third ? b : (first < third ? c : a);
+            }
+            return first < third ? a : (second < third ? c : b);
+        }
+
+        private void insertionSort(final int low, final int high) {
+            for (int row = low + 1; row <= high; row++) {
+                for (int current = row; current > low && epochMillis[current - 1] > epochMillis[current]; current--) {
+                    swap(current - 1, current);
+                }
+            }
+        }
+
+        private void swap(final int first, final int second) {
+            final long id = ids[first];
+            ids[first] = ids[second];
+            ids[second] = id;
+
+            final long epochMilli = epochMillis[first];
+            epochMillis[first] = epochMillis[second];
+            epochMillis[second] = epochMilli;
+
+            final long unscaledAmount = unscaledAmounts[first];
+            unscaledAmounts[first] = unscaledAmounts[second];
+            unscaledAmounts[second] = unscaledAmount;
+
+            final byte scale = amountScales[first];
+            amountScales[first] = amountScales[second];
+            amountScales[second] = scale;
+        }
+    }
+}
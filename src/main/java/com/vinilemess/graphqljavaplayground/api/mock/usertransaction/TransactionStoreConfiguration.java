@@ -0,0 +1,62 @@
+package com.vinilemess.graphqljavaplayground.api.mock.usertransaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+/**
+ * Configuration that populates the {@link TransactionStore} with synthetic transactions.
+ * <p>
+ * The generated data set is controlled by the following properties:
+ * <ul>
+ *   <li>{@code transaction-store.size}: total number of transactions</li>
+ *   <li>{@code transaction-store.signatures}: number of user signatures, named {@code user-signature-<n>}</li>
+ *   <li>{@code transaction-store.seed}: seed of the random generator, so data sets are reproducible</li>
+ * </ul>
+ */
+@Configuration
+public class TransactionStoreConfiguration {
+    private static final LocalDateTime FIRST_TRANSACTION_DATE_TIME = LocalDateTime.of(2049, 10, 5, 0, 0, 0);
+    private static final long MAX_TRANSACTION_INTERVAL_MILLIS = Duration.ofHours(6).toMillis();
+    private static final long MAX_UNSCALED_AMOUNT = 1_000_000L;
+    private static final int AMOUNT_SCALE = 2;
+
+    private final Logger logger = LoggerFactory.getLogger(TransactionStoreConfiguration.class);
+
+    @Bean
+    public TransactionStore transactionStore(@Value("${transaction-store.size:100000}") final int size,
+                                             @Value("${transaction-store.signatures:1000}") final int signatures,
+                                             @Value("${transaction-store.seed:42}") final long seed) {
+        if (signatures <= 0) {
+            throw new IllegalArgumentException("transaction-store.signatures must be positive");
+        }
+        final long start = System.nanoTime();
+        final SplittableRandom random = new SplittableRandom(seed);
+        final long firstEpochMilli = FIRST_TRANSACTION_DATE_TIME.toInstant(ZoneOffset.UTC).toEpochMilli();
+        final TransactionStore.Builder builder = TransactionStore.builder(size);
+
+        long id = 0;
+        for (int signature = 0; signature < signatures; signature++) {
+            final int signatureRef = builder.signatureRef("user-signature-" + signature);
+            // spread the remainder over the first signatures so that exactly `size` transactions are generated
+            final int transactionsOfSignature = size / signatures + (signature < size % signatures ? 1 : 0);
+            long epochMilli = firstEpochMilli;
+            for (int transaction = 0; transaction < transactionsOfSignature; transaction++) {
+                epochMilli += random.nextLong(MAX_TRANSACTION_INTERVAL_MILLIS);
+                builder.add(signatureRef, id++, epochMilli, random.nextLong(MAX_UNSCALED_AMOUNT), AMOUNT_SCALE);
+            }
+        }
+
+        final TransactionStore transactionStore = builder.build();
+        logger.info("Generated {} transactions for {} user signatures in {} ms",
+                transactionStore.size(), signatures, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return transactionStore;
+    }
+}
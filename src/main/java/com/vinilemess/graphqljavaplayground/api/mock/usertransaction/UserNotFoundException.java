@@ -0,0 +1,12 @@
+package com.vinilemess.graphqljavaplayground.api.mock.usertransaction;
+
+/**
+ * Thrown when no user is known for a user signature, and reported to the caller as a {@code NOT_FOUND} GraphQL
+ * error carrying the exception message.
+ */
+public class UserNotFoundException extends RuntimeException {
+
+    public UserNotFoundException(final String message) {
+        super(message);
+    }
+}
@@ -1,28 +1,42 @@
 package com.vinilemess.graphqljavaplayground.api.mock.usertransaction;
 
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.stereotype.Controller;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.Collection;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 @Controller
 public class UserTransactionController {
+    // defaults of the transactions field arguments in the schema, for arguments explicitly passed as null
+    private static final int DEFAULT_OFFSET = 0;
+    private static final int DEFAULT_LIMIT = 100;
 
     private final Logger logger;
+    private final TransactionStore transactionStore;
+    private final Duration simulatedLatency;
 
-    public UserTransactionController() {
+    public UserTransactionController(final TransactionStore transactionStore,
+                                     @Value("${transaction-store.simulated-latency:5s}") final Duration simulatedLatency) {
         this.logger = LoggerFactory.getLogger(UserTransactionController.class);
+        this.transactionStore = transactionStore;
+        this.simulatedLatency = simulatedLatency;
     }
 
     @QueryMapping(name = "userTransactionByUserSignature")
@@ -35,22 +49,74 @@ public class UserTransactionController {
     public CompletableFuture<User> findUserByTransactionSignature(final UserTransaction userTransaction) {
         return supplyAsync(() -> {
             logger.info("Fetching user at {}", LocalTime.now());
-            throw new RuntimeException("");
-//            return new User("id", "John Doe");
+            // the mock API serves no users, so the user field always resolves to an error next to the transactions
+            throw new UserNotFoundException("No user found for signature " + userTransaction.userSignature());
         });
     }
 
     @SchemaMapping(typeName = "UserTransaction", field = "transactions")
-    public CompletableFuture<Collection<Transaction>> findTransactionsByUserSignature(final UserTransaction userTransaction) {
+    public CompletableFuture<Collection<Transaction>> findTransactionsByUserSignature(final UserTransaction userTransaction,
+                                                                                      @Argument(name = "from") final String from,
+                                                                                      @Argument(name = "to") final String to,
+                                                                                      @Argument(name = "offset") final Integer offset,
+                                                                                      @Argument(name = "limit") final Integer limit) {
+        final LocalDateTime fromDateTime = parseDateTime("from", from);
+        final LocalDateTime toDateTime = parseDateTime("to", to);
+        final int validOffset = requireNonNegative("offset", offset == null ? DEFAULT_OFFSET : offset);
+        final int validLimit = requireNonNegative("limit", limit == null ? DEFAULT_LIMIT : limit);
         return supplyAsync(() -> {
             try {
-                // sleep for 5 seconds to test concurrency
-                Thread.sleep(5000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+                // sleep for the simulated latency (5 seconds by default) to test concurrency
+                Thread.sleep(simulatedLatency.toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while simulating latency, fetching transactions right away", e);
             }
             logger.info("Fetching transactions at {}", LocalTime.now());
-            return List.of(new Transaction("id", LocalDateTime.of(2049, 10, 5, 0, 0, 0), BigDecimal.TEN));
+            return transactionStore.findByUserSignature(
+                    userTransaction.userSignature(),
+                    fromDateTime,
+                    toDateTime,
+                    validOffset,
+                    validLimit
+            );
         });
     }
+
+    @GraphQlExceptionHandler
+    public GraphQLError handleInvalidTransactionQuery(final InvalidTransactionQueryException exception,
+                                                      final DataFetchingEnvironment environment) {
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(exception.getMessage())
+                .build();
+    }
+
+    @GraphQlExceptionHandler
+    public GraphQLError handleUserNotFound(final UserNotFoundException exception,
+                                           final DataFetchingEnvironment environment) {
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(ErrorType.NOT_FOUND)
+                .message(exception.getMessage())
+                .build();
+    }
+
+    private static LocalDateTime parseDateTime(final String argumentName, final String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (final DateTimeParseException e) {
+            throw new InvalidTransactionQueryException(
+                    "Argument %s must be an ISO-8601 local date time, e.g. 2049-10-05T00:00:00, but was '%s'".formatted(argumentName, value));
+        }
+    }
+
+    private static int requireNonNegative(final String argumentName, final int value) {
+        if (value < 0) {
+            throw new InvalidTransactionQueryException("Argument %s must not be negative, but was %d".formatted(argumentName, value));
+        }
+        return value;
+    }
 }
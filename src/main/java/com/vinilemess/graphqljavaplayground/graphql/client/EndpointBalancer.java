@@ -0,0 +1,242 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks the endpoint for each request among several GraphQL endpoints and tracks their health.
+ * <p>
+ * Endpoints are picked by power of two choices: two random available endpoints are compared and the one with the
+ * lower cost wins, the cost being the number of outstanding requests plus one, times the exponentially weighted
+ * moving average of the response latency. With two or fewer available endpoints, all of them are compared.
+ * <p>
+ * An endpoint is ejected when, over at least {@value #MIN_REQUESTS_BEFORE_EJECTION} requests since it was last
+ * admitted, its moving average of 5xx and I/O failures exceeds {@value #FAILURE_RATE_THRESHOLD}, or its latency
+ * average exceeds {@value #LATENCY_OUTLIER_FACTOR} times the median of the other endpoints. The last available
+ * endpoint is never ejected. Ejections last {@link #BASE_EJECTION_TIME} times the number of consecutive ejections,
+ * up to {@link #MAX_EJECTION_TIME}. Re-admitted endpoints start with the median latency of the other endpoints
+ * and their cost is divided by a weight ramping up from {@value #SLOW_START_MIN_WEIGHT} to {@code 1} over
+ * {@link #SLOW_START}, so they are not flooded with requests while warming up.
+ */
+class EndpointBalancer {
+    static final double LATENCY_EWMA_WEIGHT = 0.3;
+    static final double FAILURE_EWMA_WEIGHT = 0.1;
+    static final double FAILURE_RATE_THRESHOLD = 0.5;
+    static final double LATENCY_OUTLIER_FACTOR = 3;
+    static final int MIN_REQUESTS_BEFORE_EJECTION = 10;
+    static final Duration BASE_EJECTION_TIME = Duration.ofSeconds(10);
+    static final Duration MAX_EJECTION_TIME = Duration.ofMinutes(5);
+    static final Duration SLOW_START = Duration.ofSeconds(30);
+    static final double SLOW_START_MIN_WEIGHT = 0.1;
+
+    private final List<Endpoint> endpoints;
+    private final LongSupplier nanoClock;
+    private final IntUnaryOperator randomIndex;
+
+    /**
+     * Creates a balancer over the given endpoints.
+     *
+     * @param urls the base URLs of the endpoints.
+     * @throws IllegalArgumentException if no URL is given.
+     */
+    EndpointBalancer(final Collection<String> urls) {
+        this(urls, System::nanoTime, bound -> ThreadLocalRandom.current().nextInt(bound));
+    }
+
+    /**
+     * Creates a balancer over the given endpoints.
+     *
+     * @param urls        the base URLs of the endpoints.
+     * @param nanoClock   the source of the current time in nanoseconds.
+     * @param randomIndex returns a random index below the given bound.
+     * @throws IllegalArgumentException if no URL is given.
+     */
+    EndpointBalancer(final Collection<String> urls, final LongSupplier nanoClock, final IntUnaryOperator randomIndex) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint URL is required");
+        }
+        this.nanoClock = nanoClock;
+        this.randomIndex = randomIndex;
+        // endpoints given up front are considered warm, so they do not go through slow start
+        final long admittedAtNanos = nanoClock.getAsLong() - SLOW_START.toNanos();
+        this.endpoints = urls.stream().map(url -> new Endpoint(url, admittedAtNanos)).toList();
+    }
+
+    /**
+     * @return the endpoints, in the order their URLs were given.
+     */
+    List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * @return the current time in nanoseconds, as used to measure latencies.
+     */
+    long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Picks the endpoint for a request and counts the request as outstanding on it until it is
+     * {@linkplain #release(Endpoint) released}.
+     *
+     * @return the endpoint to send the request to.
+     */
+    synchronized Endpoint select() {
+        final long nowNanos = nanoClock.getAsLong();
+        final List<Endpoint> available = new ArrayList<>(endpoints.size());
+        for (final Endpoint endpoint : endpoints) {
+            if (endpoint.ejected && nowNanos >= endpoint.ejectedUntilNanos) {
+                readmit(endpoint, nowNanos);
+            }
+            if (!endpoint.ejected) {
+                available.add(endpoint);
+            }
+        }
+        final Endpoint selected;
+        if (available.isEmpty()) {
+            selected = endpoints.stream().min(Comparator.comparingLong(endpoint -> endpoint.ejectedUntilNanos)).orElseThrow();
+        } else if (available.size() <= 2) {
+            selected = available.stream().min(Comparator.comparingDouble(endpoint -> cost(endpoint, nowNanos))).orElseThrow();
+        } else {
+            final int first = randomIndex.applyAsInt(available.size());
+            final int second = (first + 1 + randomIndex.applyAsInt(available.size() - 1)) % available.size();
+            final Endpoint firstEndpoint = available.get(first);
+            final Endpoint secondEndpoint = available.get(second);
+            selected = cost(firstEndpoint, nowNanos) <= cost(secondEndpoint, nowNanos) ? firstEndpoint : secondEndpoint;
+        }
+        selected.outstandingRequests++;
+        return selected;
+    }
+
+    /**
+     * Records the outcome of a request, ejecting the endpoint if it became an outlier.
+     *
+     * @param endpoint   the endpoint the request was sent to.
+     * @param startNanos the {@link #nanoTime()} at which the request was sent.
+     * @param failed     whether the request failed with a 5xx status or an I/O error.
+     */
+    synchronized void complete(final Endpoint endpoint, final long startNanos, final boolean failed) {
+        final long nowNanos = nanoClock.getAsLong();
+        final long latencyNanos = Math.max(1, nowNanos - startNanos);
+        endpoint.latencyEwmaNanos = endpoint.latencyEwmaNanos == 0
+                ? latencyNanos
+                : LATENCY_EWMA_WEIGHT * latencyNanos + (1 - LATENCY_EWMA_WEIGHT) * endpoint.latencyEwmaNanos;
+        endpoint.failureRate = FAILURE_EWMA_WEIGHT * (failed ? 1 : 0) + (1 - FAILURE_EWMA_WEIGHT) * endpoint.failureRate;
+        endpoint.requestsSinceAdmission++;
+        if (!endpoint.ejected
+                && endpoint.requestsSinceAdmission >= MIN_REQUESTS_BEFORE_EJECTION
+                && (endpoint.failureRate > FAILURE_RATE_THRESHOLD || isLatencyOutlier(endpoint))
+                && endpoints.stream().filter(other -> !other.ejected).count() > 1) {
+            eject(endpoint, nowNanos);
+        }
+    }
+
+    /**
+     * Stops counting a request as outstanding on its endpoint, once its response has been read.
+     *
+     * @param endpoint the endpoint the request was sent to.
+     */
+    synchronized void release(final Endpoint endpoint) {
+        endpoint.outstandingRequests--;
+    }
+
+    private double cost(final Endpoint endpoint, final long nowNanos) {
+        final double elapsedSinceAdmission = (double) (nowNanos - endpoint.admittedAtNanos) / SLOW_START.toNanos();
+        final double weight = SLOW_START_MIN_WEIGHT + (1 - SLOW_START_MIN_WEIGHT) * Math.min(1, elapsedSinceAdmission);
+        return (endpoint.outstandingRequests + 1) * Math.max(1, endpoint.latencyEwmaNanos) / weight;
+    }
+
+    private boolean isLatencyOutlier(final Endpoint endpoint) {
+        final double medianLatencyNanos = medianLatencyNanos(endpoint);
+        return medianLatencyNanos > 0 && endpoint.latencyEwmaNanos > LATENCY_OUTLIER_FACTOR * medianLatencyNanos;
+    }
+
+    /**
+     * @return the median latency average of the available endpoints other than the given one that have served
+     * enough requests, or {@code 0} if there are none.
+     */
+    private double medianLatencyNanos(final Endpoint excluded) {
+        final double[] latencies = endpoints.stream()
+                .filter(endpoint -> endpoint != excluded && !endpoint.ejected)
+                .filter(endpoint -> endpoint.requestsSinceAdmission >= MIN_REQUESTS_BEFORE_EJECTION)
+                .mapToDouble(endpoint -> endpoint.latencyEwmaNanos)
+                .sorted()
+                .toArray();
+        if (latencies.length == 0) {
+            return 0;
+        }
+        return latencies.length % 2 == 1
+                ? latencies[latencies.length / 2]
+                : (latencies[latencies.length / 2 - 1] + latencies[latencies.length / 2]) / 2;
+    }
+
+    private void eject(final Endpoint endpoint, final long nowNanos) {
+        if (nowNanos - endpoint.admittedAtNanos > MAX_EJECTION_TIME.toNanos()) {
+            // healthy for long enough since its last ejection, so this one does not count as consecutive
+            endpoint.consecutiveEjections = 0;
+        }
+        endpoint.consecutiveEjections++;
+        final long ejectionNanos = Math.min(BASE_EJECTION_TIME.toNanos() * endpoint.consecutiveEjections, MAX_EJECTION_TIME.toNanos());
+        endpoint.ejected = true;
+        endpoint.ejectedUntilNanos = nowNanos + ejectionNanos;
+    }
+
+    private void readmit(final Endpoint endpoint, final long nowNanos) {
+        final double medianLatencyNanos = medianLatencyNanos(endpoint);
+        endpoint.ejected = false;
+        endpoint.admittedAtNanos = nowNanos;
+        endpoint.requestsSinceAdmission = 0;
+        endpoint.failureRate = 0;
+        if (medianLatencyNanos > 0) {
+            endpoint.latencyEwmaNanos = medianLatencyNanos;
+        }
+    }
+
+    /**
+     * A GraphQL endpoint and its health statistics, guarded by the {@link EndpointBalancer} it belongs to.
+     */
+    static final class Endpoint {
+        private final String url;
+        private int outstandingRequests;
+        private double latencyEwmaNanos;
+        private double failureRate;
+        private int requestsSinceAdmission;
+        private long admittedAtNanos;
+        private boolean ejected;
+        private long ejectedUntilNanos;
+        private int consecutiveEjections;
+
+        private Endpoint(final String url, final long admittedAtNanos) {
+            this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+            this.admittedAtNanos = admittedAtNanos;
+        }
+
+        String url() {
+            return url;
+        }
+
+        /**
+         * Resolves a request URI against this endpoint, keeping its path and query.
+         *
+         * @param requestUri the URI the request was built with.
+         * @return the URI of the request on this endpoint.
+         */
+        URI resolve(final URI requestUri) {
+            final String query = requestUri.getRawQuery() == null ? "" : "?" + requestUri.getRawQuery();
+            return URI.create(url + requestUri.getRawPath() + query);
+        }
+
+        @Override
+        public String toString() {
+            return url;
+        }
+    }
+}
@@ -1,18 +1,39 @@
 package com.vinilemess.graphqljavaplayground.graphql.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlError;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlIncrementalPatch;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlIncrementalPayload;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlOperationResult;
 import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlResult;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.vinilemess.graphqljavaplayground.graphql.client.GraphqlArgumentFormatter.formatQueryWithArguments;
 
@@ -30,13 +51,61 @@ import static com.vinilemess.graphqljavaplayground.graphql.client.GraphqlArgumen
  *                               .execute()
  *                               .getResult();
  * </pre>
+ *
+ * <h2>Multiple endpoints</h2>
+ * A client created with {@link #create(Collection)} balances requests over several endpoints and routes around
+ * failing or slow ones, without a load balancer in front of them.
+ *
+ * <h2>HTTP GET</h2>
+ * Queries can be sent as HTTP {@code GET} requests with {@link GraphQlRequestSpec#useHttpGet()}. The client keeps
+ * the {@code ETag} of the latest result of each query and revalidates it with {@code If-None-Match}, so unchanged
+ * results are answered with {@code 304 Not Modified} and served from the client's validator cache.
+ *
+ * <h2>Incremental delivery</h2>
+ * Queries using {@code @defer} can be executed with {@link GraphQlRequestSpec#executeIncrementally()}, which
+ * hands out the initial result and each deferred patch as they arrive:
+ * <pre>
+ * GraphQlResult result = client.query("query hello { hello ... @defer { slowField } }", Map.of())
+ *                               .executeIncrementally()
+ *                               .doOnInitialResult(initialResult -> render(initialResult))
+ *                               .doOnPatch(patch -> render(patch))
+ *                               .getResult();
+ * </pre>
+ *
+ * <h2>Generated operations</h2>
+ * Operations generated from the {@code .graphql} files in {@code src/main/graphql} are sent with their variables
+ * and decoded into their generated result records:
+ * <pre>
+ * GraphQlOperationResult&lt;FetchUserTransactionsQuery.Data&gt; result = client
+ *         .operation(FetchUserTransactionsQuery.builder().userSignature("signature").build())
+ *         .execute()
+ *         .getResult();
+ * </pre>
  */
 public class GraphQlClient {
     private static final String GRAPHQL_PATH = "/graphql";
+    private static final MediaType MULTIPART_MIXED = MediaType.parseMediaType("multipart/mixed;deferSpec=20220824");
+    private static final ObjectMapper incrementalPayloadMapper = ObjectMapperUtils.createObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectMapper cachedResultMapper = ObjectMapperUtils.createObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectMapper errorsMapper = ObjectMapperUtils.createObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final TypeReference<List<GraphQlError>> ERRORS_TYPE = new TypeReference<>() {
+    };
+    private static final int VALIDATOR_CACHE_SIZE = 256;
+    private static final ResponseErrorHandler DEFAULT_ERROR_HANDLER = new DefaultResponseErrorHandler();
     private final RestClient restClient;
+    private final Map<GraphQlRequestBody, CachedResult> validatorCache;
 
-    private GraphQlClient(final String url) {
-        this.restClient = RestClient.create(url);
+    private GraphQlClient(final RestClient restClient) {
+        this.restClient = restClient;
+        this.validatorCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<GraphQlRequestBody, CachedResult> eldest) {
+                return size() > VALIDATOR_CACHE_SIZE;
+            }
+        });
     }
 
     /**
@@ -46,7 +115,30 @@ public class GraphQlClient {
      * @return a new instance of {@code GraphQlClient}.
      */
     public static GraphQlClient create(final String url) {
-        return new GraphQlClient(url);
+        return new GraphQlClient(RestClient.create(url));
+    }
+
+    /**
+     * Constructs a {@code GraphQlClient} spreading its requests over several endpoints serving the same schema.
+     * <p>
+     * Each request goes to the less loaded of two randomly picked endpoints, weighing outstanding requests by
+     * recent latency. Endpoints answering with elevated 5xx rates or latencies are temporarily ejected, and
+     * re-admitted gradually. See {@link EndpointBalancer} for details.
+     *
+     * @param urls The base URLs of the endpoints.
+     * @return a new instance of {@code GraphQlClient}.
+     * @throws IllegalArgumentException if no URL is given.
+     */
+    public static GraphQlClient create(final Collection<String> urls) {
+        return create(new EndpointBalancer(urls));
+    }
+
+    static GraphQlClient create(final EndpointBalancer balancer) {
+        final RestClient restClient = RestClient.builder()
+                .baseUrl(LoadBalancingInterceptor.BASE_URL)
+                .requestInterceptor(new LoadBalancingInterceptor(balancer))
+                .build();
+        return new GraphQlClient(restClient);
     }
 
     /**
@@ -60,6 +152,37 @@ public class GraphQlClient {
         return new GraphQlRequestSpec(query, arguments);
     }
 
+    /**
+     * Creates a new {@code GraphQlRequestSpec} for a query selecting exactly the fields consumed by the specified
+     * result type, so the result can be mapped with {@link GraphQlResult#as(Class)} without over-fetching.
+     * <p>
+     * The root field is the type's {@link GraphQlAttributePath}, called with the specified arguments. Its selection
+     * set is built from the type's record components, recursing into nested records, and cached per type.
+     * Components annotated with {@link GraphQlIgnore} or {@code @JsonIgnore} are not selected. When the schema files
+     * are on the classpath under {@code graphql/}, components without a matching field in the schema are not
+     * selected either, and the projection fails if the root field or a nested type does not match the schema.
+     *
+     * @param resultType the record the result is mapped into.
+     * @param arguments the arguments of the root field. Can be empty but not null.
+     * @return a {@code GraphQlRequestSpec} object initialized with the projected query.
+     * @throws IllegalArgumentException if the result type has no {@link GraphQlAttributePath} annotation, or is
+     *                                  not a record whose components can be projected.
+     */
+    public GraphQlRequestSpec queryFor(final Class<?> resultType, final Map<String, Object> arguments) {
+        return new GraphQlRequestSpec(SelectionSetProjection.queryFor(resultType, arguments), Map.of());
+    }
+
+    /**
+     * Creates a new {@code GraphQlOperationRequestSpec} for the specified generated operation.
+     *
+     * @param <T> the type the data of the result is decoded into.
+     * @param operation the operation, with its variables set.
+     * @return a {@code GraphQlOperationRequestSpec} object initialized with the specified operation.
+     */
+    public <T> GraphQlOperationRequestSpec<T> operation(final GraphQlOperation<T> operation) {
+        return new GraphQlOperationRequestSpec<>(operation);
+    }
+
     /**
      * Represents a specification for a GraphQL request.
      * This class encapsulates the query string, headers, and arguments
@@ -69,6 +192,7 @@ public class GraphQlClient {
         private final String query;
         private final HttpHeaders headers;
         private final Map<String, Object> arguments;
+        private boolean httpGet;
 
         /**
          * Constructs a new {@code GraphQlRequestSpec} with the specified query and arguments.
@@ -105,6 +229,18 @@ public class GraphQlClient {
             return this;
         }
 
+        /**
+         * Sends the request as an HTTP {@code GET} with the query in the URL, so its result can be cached and
+         * revalidated through its {@code ETag}. Only suitable for query operations, since servers reject
+         * mutations sent as {@code GET}.
+         *
+         * @return the current {@code GraphQlRequestSpec} object set to use HTTP {@code GET}.
+         */
+        public GraphQlRequestSpec useHttpGet() {
+            this.httpGet = true;
+            return this;
+        }
+
         /**
          * Executes the GraphQL request using the predefined query and arguments, and returns a {@code GraphQlResponseSpec}
          * that provides methods for handling the response.
@@ -113,7 +249,19 @@ public class GraphQlClient {
          */
         public GraphQlResponseSpec execute() {
             final String queryWithArguments = formatQueryWithArguments(this.query, this.arguments);
-            return new GraphQlResponseSpec(queryWithArguments, this.headers);
+            return new GraphQlResponseSpec(queryWithArguments, this.headers, this.httpGet);
+        }
+
+        /**
+         * Executes the GraphQL request asking the server for incremental delivery of {@code @defer} fragments,
+         * and returns a {@code GraphQlIncrementalResponseSpec} that hands out the initial result and each
+         * deferred patch as they arrive.
+         *
+         * @return a {@code GraphQlIncrementalResponseSpec} object initialized with the formatted query and headers.
+         */
+        public GraphQlIncrementalResponseSpec executeIncrementally() {
+            final String queryWithArguments = formatQueryWithArguments(this.query, this.arguments);
+            return new GraphQlIncrementalResponseSpec(queryWithArguments, this.headers);
         }
     }
 
@@ -122,6 +270,9 @@ public class GraphQlClient {
      * It encapsulates methods to handle and retrieve the response from a GraphQL query.
      */
     public class GraphQlResponseSpec {
+        private final GraphQlRequestBody requestBody;
+        private final boolean httpGet;
+        private final CachedResult cachedResult;
         private final RestClient.ResponseSpec result;
         private Consumer<GraphQlResult> onErrorsHandler;
 
@@ -132,11 +283,22 @@ public class GraphQlClient {
          * @param headers the HTTP headers to be included in the request.
          */
         public GraphQlResponseSpec(final String query, final HttpHeaders headers) {
-            this.result = restClient.post()
-                    .uri(GRAPHQL_PATH)
-                    .body(new GraphQlRequestBody(query, getOperationNameOrElseNull(query)).toString())
-                    .headers(httpHeaders -> httpHeaders.addAll(headers))
-                    .retrieve();
+            this(query, headers, false);
+        }
+
+        /**
+         * Constructs a {@code GraphQlResponseSpec} with the specified GraphQL query and HTTP headers, sent either as
+         * an HTTP {@code POST} or, revalidating any cached result, as an HTTP {@code GET}.
+         *
+         * @param query the GraphQL query to be sent.
+         * @param headers the HTTP headers to be included in the request.
+         * @param httpGet whether the query is sent as an HTTP {@code GET} request.
+         */
+        public GraphQlResponseSpec(final String query, final HttpHeaders headers, final boolean httpGet) {
+            this.requestBody = GraphQlRequestBody.of(query);
+            this.httpGet = httpGet;
+            this.cachedResult = httpGet ? validatorCache.get(requestBody) : null;
+            this.result = httpGet ? getRequest(headers) : postRequest(headers);
             this.onErrorsHandler = graphQlResult -> {};
         }
 
@@ -182,25 +344,415 @@ public class GraphQlClient {
          * @return the GraphQL result as a {@code GraphQlResult} object.
          */
         public GraphQlResult getResult() {
-            final var graphQlResult = result.toEntity(GraphQlResult.class).getBody();
+            final var graphQlResult = httpGet
+                    ? resolveResult(result.toEntity(byte[].class))
+                    : result.toEntity(GraphQlResult.class).getBody();
             this.onErrorsHandler.accept(graphQlResult);
             return graphQlResult;
         }
 
+        private RestClient.ResponseSpec postRequest(final HttpHeaders headers) {
+            return restClient.post()
+                    .uri(GRAPHQL_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(requestBody.toString())
+                    .headers(httpHeaders -> httpHeaders.addAll(headers))
+                    .retrieve();
+        }
+
+        private RestClient.ResponseSpec getRequest(final HttpHeaders headers) {
+            final Map<String, Object> uriVariables = new HashMap<>();
+            uriVariables.put("query", requestBody.query());
+            String uriTemplate = GRAPHQL_PATH + "?query={query}";
+            if (requestBody.operationName() != null) {
+                uriTemplate += "&operationName={operationName}";
+                uriVariables.put("operationName", requestBody.operationName());
+            }
+            return restClient.get()
+                    .uri(uriTemplate, uriVariables)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .headers(httpHeaders -> {
+                        httpHeaders.addAll(headers);
+                        if (cachedResult != null) {
+                            httpHeaders.setIfNoneMatch(cachedResult.eTag());
+                        }
+                    })
+                    .retrieve();
+        }
+
         /**
-         * Extracts the operation name from a GraphQL query string if present.
-         *
-         * @param query the GraphQL query string.
-         * @return the extracted operation name, or {@code null} if no operation name is found or the query is blank or null.
+         * Decodes the cached response body when the server answered {@code 304 Not Modified}, otherwise the
+         * response body, remembering the body in the validator cache when the server sent an {@code ETag}.
+         * Every call decodes a new result, so callers revalidating the same query never share one.
          */
-        private static String getOperationNameOrElseNull(final String query) {
-            if (query == null || query.isBlank()) {
+        private GraphQlResult resolveResult(final ResponseEntity<byte[]> response) {
+            if (cachedResult != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return readResult(cachedResult.body());
+            }
+            final byte[] body = response.getBody();
+            if (body == null || body.length == 0) {
                 return null;
             }
-            final String operationNameRegex = "query\\s+(\\S+)\\s*\\{";
-            final Pattern pattern = Pattern.compile(operationNameRegex);
-            final Matcher matcher = pattern.matcher(query);
-            return matcher.find() ? matcher.group(1) : null;
+            final String eTag = response.getHeaders().getETag();
+            if (eTag != null) {
+                validatorCache.put(requestBody, new CachedResult(eTag, body));
+            }
+            return readResult(body);
+        }
+
+        private static GraphQlResult readResult(final byte[] body) {
+            try {
+                return cachedResultMapper.readValue(body, GraphQlResult.class);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Class representing the specification of an incrementally delivered GraphQL response.
+     * <p>
+     * The server streams the initial result followed by one payload per deferred fragment as
+     * {@code multipart/mixed}. Registered handlers are invoked as each payload arrives, and
+     * {@link #getResult()} returns the initial result with every deferred patch merged into its data.
+     * Servers that do not support incremental delivery answer with plain JSON, which is handled as an
+     * initial result without patches.
+     */
+    public class GraphQlIncrementalResponseSpec {
+        private final RestClient.RequestHeadersSpec<?> request;
+        private Consumer<GraphQlResult> onInitialResultHandler;
+        private Consumer<GraphQlIncrementalPatch> onPatchHandler;
+        private Consumer<GraphQlResult> onErrorsHandler;
+        private BiConsumer<HttpRequest, ClientHttpResponse> onStatus4xxHandler;
+        private BiConsumer<HttpRequest, ClientHttpResponse> onStatus5xxHandler;
+
+        /**
+         * Constructs a {@code GraphQlIncrementalResponseSpec} with the specified GraphQL query and HTTP headers.
+         *
+         * @param query the GraphQL query to be posted.
+         * @param headers the HTTP headers to be included in the request.
+         */
+        public GraphQlIncrementalResponseSpec(final String query, final HttpHeaders headers) {
+            this.request = restClient.post()
+                    .uri(GRAPHQL_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MULTIPART_MIXED, MediaType.APPLICATION_JSON)
+                    .body(GraphQlRequestBody.of(query).toString())
+                    .headers(httpHeaders -> httpHeaders.addAll(headers));
+            this.onInitialResultHandler = graphQlResult -> {};
+            this.onPatchHandler = graphQlIncrementalPatch -> {};
+            this.onErrorsHandler = graphQlResult -> {};
+        }
+
+        /**
+         * Registers a handler that is invoked with the initial result as soon as it arrives.
+         * <p>
+         * The handed out result is the instance deferred patches are later merged into.
+         *
+         * @param onInitialResultHandler a {@code Consumer} that processes the initial {@code GraphQlResult}.
+         * @return the {@code GraphQlIncrementalResponseSpec} instance for method chaining.
+         */
+        public GraphQlIncrementalResponseSpec doOnInitialResult(final Consumer<GraphQlResult> onInitialResultHandler) {
+            this.onInitialResultHandler = onInitialResultHandler;
+            return this;
+        }
+
+        /**
+         * Registers a handler that is invoked with each deferred patch as soon as it arrives.
+         *
+         * @param onPatchHandler a {@code Consumer} that processes each {@code GraphQlIncrementalPatch}.
+         * @return the {@code GraphQlIncrementalResponseSpec} instance for method chaining.
+         */
+        public GraphQlIncrementalResponseSpec doOnPatch(final Consumer<GraphQlIncrementalPatch> onPatchHandler) {
+            this.onPatchHandler = onPatchHandler;
+            return this;
+        }
+
+        /**
+         * Registers a handler that is invoked when the merged GraphQL response contains errors.
+         *
+         * @param onErrorsHandler a {@code Consumer} that processes any errors present in the {@code GraphQlResult}.
+         * @return the {@code GraphQlIncrementalResponseSpec} instance for method chaining.
+         */
+        public GraphQlIncrementalResponseSpec doOnError(final Consumer<GraphQlResult> onErrorsHandler) {
+            this.onErrorsHandler = onErrorsHandler;
+            return this;
+        }
+
+        /**
+         * Registers a handler that is invoked when the response has a 4xx HTTP status code.
+         *
+         * @param handler a {@code BiConsumer} that accepts the {@code HttpRequest} and {@code ClientHttpResponse}
+         *                when a 4xx client error occurs.
+         * @return the {@code GraphQlIncrementalResponseSpec} instance for method chaining.
+         */
+        public GraphQlIncrementalResponseSpec onStatus4xx(final BiConsumer<HttpRequest, ClientHttpResponse> handler) {
+            this.onStatus4xxHandler = handler;
+            return this;
+        }
+
+        /**
+         * Registers a handler that is invoked when the response has a 5xx HTTP status code.
+         *
+         * @param handler a {@code BiConsumer} that accepts the {@code HttpRequest} and {@code ClientHttpResponse}
+         *                when a 5xx server error occurs.
+         * @return the {@code GraphQlIncrementalResponseSpec} instance for method chaining.
+         */
+        public GraphQlIncrementalResponseSpec onStatus5xx(final BiConsumer<HttpRequest, ClientHttpResponse> handler) {
+            this.onStatus5xxHandler = handler;
+            return this;
+        }
+
+        /**
+         * Sends the request and reads the response, invoking the registered handlers as payloads arrive.
+         * This method blocks until the last payload has been received.
+         *
+         * @return the initial {@code GraphQlResult} with all deferred patches merged into its data and errors.
+         * @throws RestClientResponseException if the response has an error status code and no status handler is
+         *                                     registered for it.
+         */
+        public GraphQlResult getResult() {
+            final GraphQlResult graphQlResult = request.exchange((httpRequest, httpResponse) -> {
+                handleStatus(httpRequest, httpResponse, onStatus4xxHandler, onStatus5xxHandler);
+                final var accumulator = new IncrementalResultAccumulator();
+                final MediaType contentType = httpResponse.getHeaders().getContentType();
+                if (contentType != null && contentType.isCompatibleWith(MediaType.MULTIPART_MIXED)) {
+                    MultipartMixedReader.readParts(httpResponse.getBody(), contentType.getParameter("boundary"),
+                            part -> accumulator.accept(readPayload(part)));
+                } else {
+                    accumulator.accept(incrementalPayloadMapper.readValue(httpResponse.getBody(), GraphQlIncrementalPayload.class));
+                }
+                return accumulator.result;
+            });
+            this.onErrorsHandler.accept(graphQlResult);
+            return graphQlResult;
+        }
+
+        private static GraphQlIncrementalPayload readPayload(final String part) {
+            try {
+                return incrementalPayloadMapper.readValue(part, GraphQlIncrementalPayload.class);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Builds the merged result from the payloads of an incremental response, invoking the registered
+         * handlers for each of them.
+         */
+        private class IncrementalResultAccumulator {
+            private final Collection<GraphQlError> errors = new ArrayList<>();
+            private GraphQlResult result;
+
+            private void accept(final GraphQlIncrementalPayload payload) {
+                if (result == null) {
+                    if (payload.errors() != null) {
+                        errors.addAll(payload.errors());
+                    }
+                    result = new GraphQlResult(payload.data(), errors);
+                    onInitialResultHandler.accept(result);
+                }
+                if (payload.incremental() == null) {
+                    return;
+                }
+                for (final GraphQlIncrementalPatch patch : payload.incremental()) {
+                    onPatchHandler.accept(patch);
+                    mergePatch(patch);
+                }
+            }
+
+            @SuppressWarnings("unchecked")
+            private void mergePatch(final GraphQlIncrementalPatch patch) {
+                if (patch.errors() != null) {
+                    errors.addAll(patch.errors());
+                }
+                Object target = result.data();
+                for (final Object pathSegment : patch.path() == null ? List.of() : patch.path()) {
+                    target = switch (target) {
+                        case final Map<?, ?> map -> map.get(pathSegment);
+                        case final List<?> list when pathSegment instanceof final Number index
+                                && index.intValue() < list.size() -> list.get(index.intValue());
+                        case null, default -> null;
+                    };
+                }
+                if (target instanceof final Map<?, ?> targetMap && patch.data() != null) {
+                    ((Map<Object, Object>) targetMap).putAll(patch.data());
+                }
+            }
         }
     }
+
+    /**
+     * Represents a specification for a request executing a generated {@link GraphQlOperation}.
+     *
+     * @param <T> the type the data of the result is decoded into.
+     */
+    public class GraphQlOperationRequestSpec<T> {
+        private final GraphQlOperation<T> operation;
+        private final HttpHeaders headers;
+
+        private GraphQlOperationRequestSpec(final GraphQlOperation<T> operation) {
+            this.operation = operation;
+            this.headers = new HttpHeaders();
+        }
+
+        /**
+         * Adds a header to the GraphQL operation request specification.
+         *
+         * @param header the name of the header to be added.
+         * @param value the value of the header to be added.
+         * @return the current {@code GraphQlOperationRequestSpec} object with the added header.
+         */
+        public GraphQlOperationRequestSpec<T> header(final String header, final String value) {
+            this.headers.add(header, value);
+            return this;
+        }
+
+        /**
+         * Adds multiple headers to the GraphQL operation request specification.
+         *
+         * @param headers the headers to be added, represented as a {@link MultiValueMap} where keys are header names and values are lists of header values.
+         * @return the current {@code GraphQlOperationRequestSpec} object with the added headers.
+         */
+        public GraphQlOperationRequestSpec<T> headers(final MultiValueMap<String, String> headers) {
+            this.headers.addAll(headers);
+            return this;
+        }
+
+        /**
+         * Executes the operation, sending its document and variables, and returns a
+         * {@code GraphQlOperationResponseSpec} that provides methods for handling the response.
+         *
+         * @return a {@code GraphQlOperationResponseSpec} object initialized with the operation and headers.
+         */
+        public GraphQlOperationResponseSpec<T> execute() {
+            return new GraphQlOperationResponseSpec<>(operation, headers);
+        }
+    }
+
+    /**
+     * Class representing the specification of the response to a generated {@link GraphQlOperation}.
+     * <p>
+     * The response body is decoded while it is read: the {@code data} entry through the operation's generated
+     * decoder, and the {@code errors} entry into {@link GraphQlError}s. No intermediate map is built.
+     *
+     * @param <T> the type the data of the result is decoded into.
+     */
+    public class GraphQlOperationResponseSpec<T> {
+        private final GraphQlOperation<T> operation;
+        private final RestClient.RequestHeadersSpec<?> request;
+        private Consumer<GraphQlOperationResult<T>> onErrorsHandler;
+        private BiConsumer<HttpRequest, ClientHttpResponse> onStatus4xxHandler;
+        private BiConsumer<HttpRequest, ClientHttpResponse> onStatus5xxHandler;
+
+        private GraphQlOperationResponseSpec(final GraphQlOperation<T> operation, final HttpHeaders headers) {
+            this.operation = operation;
+            this.request = restClient.post()
+                    .uri(GRAPHQL_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .body(GraphQlRequestBody.of(operation).toString())
+                    .headers(httpHeaders -> httpHeaders.addAll(headers));
+            this.onErrorsHandler = graphQlOperationResult -> {};
+        }
+
+        /**
+         * Registers a handler that is invoked when the response has a 4xx HTTP status code.
+         *
+         * @param handler a {@code BiConsumer} that accepts the {@code HttpRequest} and {@code ClientHttpResponse}
+         *                when a 4xx client error occurs.
+         * @return the {@code GraphQlOperationResponseSpec} instance for method chaining.
+         */
+        public GraphQlOperationResponseSpec<T> onStatus4xx(final BiConsumer<HttpRequest, ClientHttpResponse> handler) {
+            this.onStatus4xxHandler = handler;
+            return this;
+        }
+
+        /**
+         * Registers a handler that is invoked when the response has a 5xx HTTP status code.
+         *
+         * @param handler a {@code BiConsumer} that accepts the {@code HttpRequest} and {@code ClientHttpResponse}
+         *                when a 5xx server error occurs.
+         * @return the {@code GraphQlOperationResponseSpec} instance for method chaining.
+         */
+        public GraphQlOperationResponseSpec<T> onStatus5xx(final BiConsumer<HttpRequest, ClientHttpResponse> handler) {
+            this.onStatus5xxHandler = handler;
+            return this;
+        }
+
+        /**
+         * Registers a handler that is invoked when the GraphQL response contains errors.
+         *
+         * @param onErrorsHandler a {@code Consumer} that processes any errors present in the {@code GraphQlOperationResult}.
+         * @return the {@code GraphQlOperationResponseSpec} instance for method chaining.
+         */
+        public GraphQlOperationResponseSpec<T> doOnError(final Consumer<GraphQlOperationResult<T>> onErrorsHandler) {
+            this.onErrorsHandler = onErrorsHandler;
+            return this;
+        }
+
+        /**
+         * Sends the request and decodes the response.
+         *
+         * @return the {@code GraphQlOperationResult} with the decoded data and any errors.
+         * @throws RestClientResponseException if the response has an error status code and no status handler is
+         *                                     registered for it.
+         */
+        public GraphQlOperationResult<T> getResult() {
+            final GraphQlOperationResult<T> graphQlOperationResult = request.exchange((httpRequest, httpResponse) -> {
+                handleStatus(httpRequest, httpResponse, onStatus4xxHandler, onStatus5xxHandler);
+                try (JsonParser parser = errorsMapper.createParser(httpResponse.getBody())) {
+                    return readResult(parser);
+                }
+            });
+            if (graphQlOperationResult.hasErrors()) {
+                this.onErrorsHandler.accept(graphQlOperationResult);
+            }
+            return graphQlOperationResult;
+        }
+
+        private GraphQlOperationResult<T> readResult(final JsonParser parser) throws IOException {
+            parser.nextToken();
+            GraphQlJsonReaders.expectToken(parser, JsonToken.START_OBJECT);
+            T data = null;
+            List<GraphQlError> errors = List.of();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "data" -> data = parser.currentToken() == JsonToken.VALUE_NULL ? null : operation.decodeData(parser);
+                    case "errors" -> errors = errorsMapper.readValue(parser, ERRORS_TYPE);
+                    default -> parser.skipChildren();
+                }
+            }
+            return new GraphQlOperationResult<>(data, errors == null ? List.of() : errors);
+        }
+    }
+
+    /**
+     * Invokes the handler registered for the status code of an error response instead of the default error
+     * handling, as {@link RestClient.ResponseSpec#onStatus} does. Error responses without a registered handler
+     * fail with the {@link RestClientResponseException} {@link RestClient#retrieve()} would throw. Does nothing
+     * for successful responses.
+     */
+    private static void handleStatus(final HttpRequest httpRequest,
+                                     final ClientHttpResponse httpResponse,
+                                     final BiConsumer<HttpRequest, ClientHttpResponse> onStatus4xxHandler,
+                                     final BiConsumer<HttpRequest, ClientHttpResponse> onStatus5xxHandler) throws IOException {
+        final HttpStatusCode statusCode = httpResponse.getStatusCode();
+        if (statusCode.is4xxClientError() && onStatus4xxHandler != null) {
+            onStatus4xxHandler.accept(httpRequest, httpResponse);
+        } else if (statusCode.is5xxServerError() && onStatus5xxHandler != null) {
+            onStatus5xxHandler.accept(httpRequest, httpResponse);
+        } else if (statusCode.isError()) {
+            DEFAULT_ERROR_HANDLER.handleError(httpRequest.getURI(), httpRequest.getMethod(), httpResponse);
+        }
+    }
+
+    /**
+     * The body of a result kept in the validator cache together with the {@code ETag} the server sent for it.
+     * The body is never modified, and decoded again for each request it answers.
+     */
+    private record CachedResult(String eTag, byte[] body) {
+    }
 }
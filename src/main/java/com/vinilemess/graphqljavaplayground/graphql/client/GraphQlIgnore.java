@@ -0,0 +1,27 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to exclude a record component from the selection set built by
+ * {@link GraphQlClient#queryFor(Class, java.util.Map)}.
+ * <p>
+ * Use it for components of a result type that are not part of the GraphQL schema, e.g. values filled in on the
+ * client after the result is mapped. Such components are left {@code null} by {@code GraphQlResult.as()}.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * @GraphQlAttributePath("userTransactionByUserSignature")
+ * public record UserTransactionsView(String userSignature, @GraphQlIgnore String localNote) {
+ * }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.RECORD_COMPONENT)
+public @interface GraphQlIgnore {
+}
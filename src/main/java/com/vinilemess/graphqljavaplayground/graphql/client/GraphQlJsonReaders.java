@@ -0,0 +1,109 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class with the readers generated {@link GraphQlOperation} decoders are composed of.
+ * <p>
+ * Each reader expects the parser to be positioned on the first token of the value and leaves it on the last token
+ * of the value. {@code null} JSON values are read as {@code null}.
+ */
+public class GraphQlJsonReaders {
+
+    private GraphQlJsonReaders() {
+    }
+
+    /**
+     * Reads a single value from a parser.
+     *
+     * @param <T> the type of the value.
+     */
+    @FunctionalInterface
+    public interface ValueReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Reads a {@code String}, {@code ID} or enum value.
+     *
+     * @param parser the parser, positioned on the value.
+     * @return the value as text, or {@code null} if the value is {@code null}.
+     * @throws IOException if the value cannot be read.
+     */
+    public static String readString(final JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    /**
+     * Reads an {@code Int} value.
+     *
+     * @param parser the parser, positioned on the value.
+     * @return the value, or {@code null} if the value is {@code null}.
+     * @throws IOException if the value is not a number or does not fit in an {@code int}.
+     */
+    public static Integer readInteger(final JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getIntValue();
+    }
+
+    /**
+     * Reads a {@code Float} value.
+     *
+     * @param parser the parser, positioned on the value.
+     * @return the value, or {@code null} if the value is {@code null}.
+     * @throws IOException if the value is not a number.
+     */
+    public static Double readDouble(final JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getDoubleValue();
+    }
+
+    /**
+     * Reads a {@code Boolean} value.
+     *
+     * @param parser the parser, positioned on the value.
+     * @return the value, or {@code null} if the value is {@code null}.
+     * @throws IOException if the value is not a boolean.
+     */
+    public static Boolean readBoolean(final JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getBooleanValue();
+    }
+
+    /**
+     * Reads a JSON array, reading each element with the given reader.
+     *
+     * @param <T>           the type of the elements.
+     * @param parser        the parser, positioned on the start of the array.
+     * @param elementReader the reader for the elements.
+     * @return the elements, or {@code null} if the value is {@code null}.
+     * @throws IOException if the value is not an array or an element cannot be read.
+     */
+    public static <T> List<T> readList(final JsonParser parser, final ValueReader<T> elementReader) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectToken(parser, JsonToken.START_ARRAY);
+        final List<T> elements = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(elementReader.read(parser));
+        }
+        return elements;
+    }
+
+    /**
+     * Fails unless the parser is positioned on the expected token.
+     *
+     * @param parser   the parser.
+     * @param expected the expected token.
+     * @throws JsonParseException if the current token is a different one.
+     */
+    public static void expectToken(final JsonParser parser, final JsonToken expected) throws JsonParseException {
+        if (parser.currentToken() != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + parser.currentToken());
+        }
+    }
+}
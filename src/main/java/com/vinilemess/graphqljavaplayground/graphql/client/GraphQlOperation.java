@@ -0,0 +1,48 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A GraphQL operation with its variables and a decoder for its result data.
+ * <p>
+ * Implementations are generated at build time from the {@code .graphql} operation files in {@code src/main/graphql},
+ * after validating them against the schema. Their documents are fixed, so arguments are passed as variables instead
+ * of being formatted into the query, and their results are decoded straight from the response stream into records
+ * without reflection.
+ *
+ * @param <T> the type the {@code data} of the result is decoded into.
+ */
+public interface GraphQlOperation<T> {
+
+    /**
+     * @return the GraphQL document containing the operation.
+     */
+    String document();
+
+    /**
+     * @return the name of the operation within the document.
+     */
+    String operationName();
+
+    /**
+     * @return the hex encoded SHA-256 hash of the document, as used to identify persisted queries.
+     */
+    String documentHash();
+
+    /**
+     * @return the variables of the operation. Variables that were not set are absent.
+     */
+    Map<String, Object> variables();
+
+    /**
+     * Decodes the {@code data} entry of a result.
+     *
+     * @param parser a parser positioned on the first token of the {@code data} value.
+     * @return the decoded data, or {@code null} if the value is {@code null}.
+     * @throws IOException if the value cannot be read or does not match the operation's selection set.
+     */
+    T decodeData(JsonParser parser) throws IOException;
+}
@@ -1,23 +1,79 @@
 package com.vinilemess.graphqljavaplayground.graphql.client;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Represents the body of a GraphQL request.
  *
- * This record contains the GraphQL query and the operation name associated with the request.
+ * This record contains the GraphQL query, the operation name and the variables associated with the request.
  * It provides a string representation of the request body in JSON format.
  *
  * @param query          the GraphQL query as a string
  * @param operationName  the name of the GraphQL operation
+ * @param variables      the variables of the GraphQL operation, omitted from the JSON when empty
  */
-public record GraphQlRequestBody(String query, String operationName) {
+public record GraphQlRequestBody(String query,
+                                 String operationName,
+                                 @JsonInclude(JsonInclude.Include.NON_EMPTY) Map<String, Object> variables) {
+
+    private static final ObjectMapper objectMapper = ObjectMapperUtils.createObjectMapper();
+    private static final Pattern OPERATION_NAME_PATTERN = Pattern.compile("query\\s+(\\S+)\\s*\\{");
+
+    public GraphQlRequestBody(final String query, final String operationName) {
+        this(query, operationName, Map.of());
+    }
+
+    /**
+     * Creates a request body for the given operation.
+     *
+     * @param operation the GraphQL operation.
+     * @return a new {@code GraphQlRequestBody} with the operation's document, name and variables.
+     */
+    static GraphQlRequestBody of(final GraphQlOperation<?> operation) {
+        return new GraphQlRequestBody(operation.document(), operation.operationName(), operation.variables());
+    }
+
+    /**
+     * Creates a request body for the given query, extracting its operation name.
+     *
+     * @param query the GraphQL query string.
+     * @return a new {@code GraphQlRequestBody} with the query and its operation name, if any.
+     */
+    static GraphQlRequestBody of(final String query) {
+        return new GraphQlRequestBody(query, getOperationNameOrElseNull(query));
+    }
+
+    /**
+     * Extracts the operation name from a GraphQL query string if present.
+     *
+     * @param query the GraphQL query string.
+     * @return the extracted operation name, or {@code null} if no operation name is found or the query is blank or null.
+     */
+    static String getOperationNameOrElseNull(final String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        final Matcher matcher = OPERATION_NAME_PATTERN.matcher(query);
+        return matcher.find() ? matcher.group(1) : null;
+    }
 
+    /**
+     * Returns the request body as a JSON document, with the query and operation name escaped as JSON strings.
+     *
+     * @return the JSON representation of this request body.
+     */
     @Override
     public String toString() {
-        return """
-                {
-                  "query": %s,
-                  "operationName": %s
-                }
-                """.formatted(query, operationName);
+        try {
+            return objectMapper.writeValueAsString(this);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize GraphQL request body", e);
+        }
     }
 }
@@ -59,7 +59,7 @@ class GraphqlArgumentFormatter {
      * @param argumentValue The argument value to be formatted. Can be of type String, Number, Enum, Iterable, or null.
      * @return The formatted string representation of the argument value.
      */
-    private static String formatArgumentValue(final Object argumentValue) {
+    static String formatArgumentValue(final Object argumentValue) {
         return switch (argumentValue) {
             case null -> "null";
             case final String stringArgument -> "\"%s\"".formatted(stringArgument);
@@ -0,0 +1,108 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import com.vinilemess.graphqljavaplayground.graphql.client.EndpointBalancer.Endpoint;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * {@link ClientHttpRequestInterceptor} sending each request to the endpoint picked by an {@link EndpointBalancer}.
+ * <p>
+ * Requests are built against {@link #BASE_URL} and rewritten to the picked endpoint. The latency reported to the
+ * balancer is the time until the response headers arrive, and the request stays outstanding on the endpoint until
+ * its response is closed.
+ */
+class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+    /**
+     * Base URL requests are built against before being routed to an endpoint.
+     */
+    static final String BASE_URL = "http://graphql-endpoint";
+
+    private final EndpointBalancer balancer;
+
+    LoadBalancingInterceptor(final EndpointBalancer balancer) {
+        this.balancer = balancer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request,
+                                        final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        final Endpoint endpoint = balancer.select();
+        final long startNanos = balancer.nanoTime();
+        final HttpRequest routedRequest = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return endpoint.resolve(super.getURI());
+            }
+        };
+        ClientHttpResponse response = null;
+        try {
+            response = execution.execute(routedRequest, body);
+            balancer.complete(endpoint, startNanos, response.getStatusCode().is5xxServerError());
+        } catch (final IOException | RuntimeException e) {
+            if (response != null) {
+                // the status could not be read, so the response is never handed out and has to be closed here
+                response.close();
+            }
+            balancer.complete(endpoint, startNanos, true);
+            balancer.release(endpoint);
+            throw e;
+        }
+        return new ReleasingResponse(response, endpoint);
+    }
+
+    /**
+     * Response releasing its request on the balancer once closed.
+     */
+    private class ReleasingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final Endpoint endpoint;
+        private boolean released;
+
+        private ReleasingResponse(final ClientHttpResponse response, final Endpoint endpoint) {
+            this.response = response;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    balancer.release(endpoint);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Utility class for reading the parts of a {@code multipart/mixed} response body as they arrive.
+ * <p>
+ * Only the part bodies are handed out; part headers are skipped, since incremental GraphQL responses always
+ * carry JSON parts.
+ */
+class MultipartMixedReader {
+    private static final String DEFAULT_BOUNDARY = "-";
+
+    private MultipartMixedReader() {
+    }
+
+    /**
+     * Reads the parts of a {@code multipart/mixed} body, passing each non-blank part body to the consumer
+     * as soon as its closing delimiter has been read.
+     *
+     * @param inputStream  the response body.
+     * @param boundary     the multipart boundary, possibly quoted, or {@code null} to use the {@code -} boundary.
+     * @param partConsumer the consumer of the part bodies.
+     * @throws IOException if reading the body fails.
+     */
+    static void readParts(final InputStream inputStream,
+                          final String boundary,
+                          final Consumer<String> partConsumer) throws IOException {
+        final String delimiter = "--" + unquote(boundary);
+        final String closeDelimiter = delimiter + "--";
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        final StringBuilder body = new StringBuilder();
+        boolean inHeaders = false;
+        boolean inBody = false;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final String trimmedLine = line.stripTrailing();
+            if (trimmedLine.equals(delimiter) || trimmedLine.equals(closeDelimiter)) {
+                if (inBody && !body.toString().isBlank()) {
+                    partConsumer.accept(body.toString());
+                }
+                if (trimmedLine.equals(closeDelimiter)) {
+                    return;
+                }
+                body.setLength(0);
+                inHeaders = true;
+                inBody = false;
+            } else if (inHeaders) {
+                if (line.isEmpty()) {
+                    inHeaders = false;
+                    inBody = true;
+                }
+            } else if (inBody) {
+                body.append(line).append('\n');
+            }
+        }
+        if (inBody && !body.toString().isBlank()) {
+            partConsumer.accept(body.toString());
+        }
+    }
+
+    private static String unquote(final String boundary) {
+        if (boundary == null || boundary.isBlank()) {
+            return DEFAULT_BOUNDARY;
+        }
+        if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            return boundary.substring(1, boundary.length() - 1);
+        }
+        return boundary;
+    }
+}
@@ -0,0 +1,228 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.vinilemess.graphqljavaplayground.graphql.client.GraphqlArgumentFormatter.formatArgumentValue;
+
+/**
+ * Utility class for building GraphQL queries that select exactly the fields a result record consumes.
+ * <p>
+ * The selection set of a record has one field per record component, named after the component or its
+ * {@link JsonProperty} name. Components whose type is a record, or a collection, array or {@link Optional} of
+ * records, get a nested selection set built the same way. Components annotated with {@link GraphQlIgnore} are
+ * skipped, and so are components annotated with {@link JsonIgnore}, as they are never populated when the result
+ * is mapped with {@code GraphQlResult.as()}.
+ * <p>
+ * When schema files are on the classpath at {@value #SCHEMA_LOCATION}, where Spring GraphQL looks for them, the
+ * projection follows the schema: the root field must be a field of the query type, and components without a
+ * matching field in the schema type are skipped, so records such as the domain {@code User} and
+ * {@code Transaction}, whose ids the schema does not expose, can be used as they are.
+ * <p>
+ * Selection sets are built once per class and cached.
+ */
+class SelectionSetProjection {
+    static final String SCHEMA_LOCATION = "classpath*:graphql/**/*.graphqls";
+
+    private static final Map<Class<?>, String> selectionSetCache = new ConcurrentHashMap<>();
+
+    private SelectionSetProjection() {
+    }
+
+    /**
+     * Builds a query selecting the fields consumed by the given result type.
+     * <p>
+     * The root field is the {@link GraphQlAttributePath} of the result type, and the operation is named after it.
+     *
+     * @param resultType the record the result is mapped into.
+     * @param arguments  the arguments of the root field. Can be empty but not null.
+     * @return the GraphQL query.
+     * @throws IllegalArgumentException if the result type has no {@link GraphQlAttributePath} annotation, is not a
+     *                                  record whose components can be projected, or does not match the schema.
+     */
+    static String queryFor(final Class<?> resultType, final Map<String, Object> arguments) {
+        final GraphQlAttributePath attributePath = resultType.getAnnotation(GraphQlAttributePath.class);
+        if (attributePath == null) {
+            throw new IllegalArgumentException("Class " + resultType.getName() + " must have a GraphQlAttributePath annotation");
+        }
+        final String rootField = attributePath.value();
+        final GraphQLSchema schema = ClasspathSchema.SCHEMA;
+        if (schema != null && schema.getQueryType().getFieldDefinition(rootField) == null) {
+            throw new IllegalArgumentException("Cannot build a query for " + resultType.getName()
+                    + ", the schema has no query field " + rootField);
+        }
+        final StringBuilder query = new StringBuilder("query ").append(rootField).append(" { ").append(rootField);
+        if (!arguments.isEmpty()) {
+            final StringJoiner formattedArguments = new StringJoiner(", ", "(", ")");
+            arguments.forEach((name, value) -> formattedArguments.add(name + ": " + formatArgumentValue(value)));
+            query.append(formattedArguments);
+        }
+        return query.append(' ').append(selectionSet(resultType)).append(" }").toString();
+    }
+
+    /**
+     * Returns the selection set of a result record, e.g. {@code { userSignature transactions { amount dateTime } }}.
+     *
+     * @param type the record, with its {@link GraphQlAttributePath} naming a field of the query type.
+     * @return the selection set, including its braces.
+     * @throws IllegalArgumentException if the type is not a record whose components can be projected.
+     */
+    private static String selectionSet(final Class<?> type) {
+        return selectionSetCache.computeIfAbsent(type, resultType -> {
+            final GraphQLSchema schema = ClasspathSchema.SCHEMA;
+            final String rootField = resultType.getAnnotation(GraphQlAttributePath.class).value();
+            final GraphQLFieldsContainer schemaType = schema == null ? null : fieldsContainer(schema.getQueryType().getFieldDefinition(rootField));
+            return buildSelectionSet(resultType, schemaType, new ArrayDeque<>());
+        });
+    }
+
+    /**
+     * Builds the selection set of a record, checking its components against the fields of the schema type it is
+     * selected from, or against nothing if {@code schemaType} is {@code null}.
+     */
+    private static String buildSelectionSet(final Class<?> type,
+                                            final GraphQLFieldsContainer schemaType,
+                                            final Deque<Class<?>> enclosingTypes) {
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException("Cannot build a selection set for " + type.getName() + ", only records are supported");
+        }
+        if (enclosingTypes.contains(type)) {
+            throw new IllegalArgumentException("Cannot build a selection set for " + type.getName() + ", it references itself");
+        }
+        enclosingTypes.push(type);
+        final StringJoiner fields = new StringJoiner(" ", "{ ", " }").setEmptyValue("");
+        for (final RecordComponent component : type.getRecordComponents()) {
+            // @JsonIgnore cannot target record components, so javac propagates it to the accessor and field only
+            if (component.isAnnotationPresent(GraphQlIgnore.class) || component.getAccessor().isAnnotationPresent(JsonIgnore.class)) {
+                continue;
+            }
+            final String fieldName = fieldName(component);
+            final GraphQLFieldDefinition fieldDefinition = schemaType == null ? null : schemaType.getFieldDefinition(fieldName);
+            if (schemaType != null && fieldDefinition == null) {
+                continue;
+            }
+            final Class<?> fieldType = selectedType(component.getGenericType());
+            if (fieldDefinition != null && isLeaf(fieldType) != GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(fieldDefinition.getType()))) {
+                throw new IllegalArgumentException("Cannot build a selection set for " + type.getName() + ", component "
+                        + component.getName() + " of type " + fieldType.getName() + " does not match field "
+                        + schemaType.getName() + "." + fieldName + " of type " + GraphQLTypeUtil.simplePrint(fieldDefinition.getType()));
+            }
+            if (isLeaf(fieldType)) {
+                fields.add(fieldName);
+            } else {
+                fields.add(fieldName + " " + buildSelectionSet(fieldType, fieldsContainer(fieldDefinition), enclosingTypes));
+            }
+        }
+        enclosingTypes.pop();
+        if (fields.length() == 0) {
+            throw new IllegalArgumentException("Cannot build a selection set for " + type.getName() + ", it has no fields to select");
+        }
+        return fields.toString();
+    }
+
+    /**
+     * Returns the type whose fields are selected for a component, unwrapping collections, arrays and {@link Optional}.
+     */
+    private static Class<?> selectedType(final Type type) {
+        return switch (type) {
+            case final Class<?> clazz when clazz.isArray() -> selectedType(clazz.getComponentType());
+            case final Class<?> clazz -> clazz;
+            case final GenericArrayType genericArrayType -> selectedType(genericArrayType.getGenericComponentType());
+            case final ParameterizedType parameterizedType
+                    when parameterizedType.getRawType() instanceof final Class<?> rawType
+                    && (Collection.class.isAssignableFrom(rawType) || rawType == Optional.class) ->
+                    selectedType(parameterizedType.getActualTypeArguments()[0]);
+            case final ParameterizedType parameterizedType -> selectedType(parameterizedType.getRawType());
+            case final WildcardType wildcardType -> selectedType(wildcardType.getUpperBounds()[0]);
+            default -> throw new IllegalArgumentException("Cannot build a selection set for type " + type.getTypeName());
+        };
+    }
+
+    private static boolean isLeaf(final Class<?> type) {
+        return type.isPrimitive()
+                || type.isEnum()
+                || CharSequence.class.isAssignableFrom(type)
+                || Number.class.isAssignableFrom(type)
+                || type == Boolean.class
+                || type == Character.class
+                || TemporalAccessor.class.isAssignableFrom(type)
+                || type == Date.class
+                || type == UUID.class
+                || type == URI.class;
+    }
+
+    /**
+     * Returns the object or interface type a field selects from, or {@code null} if there is no field or its type
+     * is a union, whose members cannot be checked.
+     */
+    private static GraphQLFieldsContainer fieldsContainer(final GraphQLFieldDefinition fieldDefinition) {
+        if (fieldDefinition == null) {
+            return null;
+        }
+        return GraphQLTypeUtil.unwrapAll(fieldDefinition.getType()) instanceof final GraphQLFieldsContainer fieldsContainer
+                ? fieldsContainer
+                : null;
+    }
+
+    private static String fieldName(final RecordComponent component) {
+        final JsonProperty jsonProperty = component.getAccessor().getAnnotation(JsonProperty.class);
+        return jsonProperty != null && !jsonProperty.value().isEmpty() ? jsonProperty.value() : component.getName();
+    }
+
+    /**
+     * Holds the schema parsed from the schema files on the classpath, or {@code null} if there are none, loaded on
+     * first use.
+     */
+    private static final class ClasspathSchema {
+        private static final GraphQLSchema SCHEMA = load();
+
+        private static GraphQLSchema load() {
+            try {
+                final Resource[] schemaFiles = new PathMatchingResourcePatternResolver().getResources(SCHEMA_LOCATION);
+                if (schemaFiles.length == 0) {
+                    return null;
+                }
+                final TypeDefinitionRegistry typeDefinitionRegistry = new TypeDefinitionRegistry();
+                for (final Resource schemaFile : schemaFiles) {
+                    try (Reader reader = new InputStreamReader(schemaFile.getInputStream(), StandardCharsets.UTF_8)) {
+                        typeDefinitionRegistry.merge(new SchemaParser().parse(reader));
+                    }
+                }
+                return UnExecutableSchemaGenerator.makeUnExecutableSchema(typeDefinitionRegistry);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Cannot read the schema files at " + SCHEMA_LOCATION, e);
+            }
+        }
+    }
+}
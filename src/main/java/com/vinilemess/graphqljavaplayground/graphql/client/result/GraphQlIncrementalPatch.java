@@ -0,0 +1,21 @@
+package com.vinilemess.graphqljavaplayground.graphql.client.result;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+/**
+ * Represents a deferred payload of an incremental GraphQL response, delivered after the initial result
+ * for a fragment annotated with {@code @defer}.
+ *
+ * @param path   the path in the initial result's {@code data} where this payload's data belongs.
+ * @param label  the label of the {@code @defer} directive, if any.
+ * @param data   the data of the deferred fragment.
+ * @param errors the collection of errors raised while resolving the deferred fragment, if any.
+ */
+public record GraphQlIncrementalPatch(
+        Collection<Object> path,
+        String label,
+        LinkedHashMap<Object, Object> data,
+        Collection<GraphQlError> errors
+) {
+}
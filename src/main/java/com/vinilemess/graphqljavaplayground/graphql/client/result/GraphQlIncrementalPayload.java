@@ -0,0 +1,24 @@
+package com.vinilemess.graphqljavaplayground.graphql.client.result;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
+/**
+ * Represents one part of an incremental GraphQL response.
+ * <p>
+ * The first part carries the initial {@code data} and {@code errors}; subsequent parts carry
+ * {@code incremental} patches. {@code hasNext} tells whether more parts follow and is absent when
+ * the server did not deliver the result incrementally.
+ *
+ * @param data        the initial data, only present in the first part.
+ * @param errors      the errors of the initial result, only present in the first part.
+ * @param incremental the deferred patches carried by this part, if any.
+ * @param hasNext     whether more parts follow, or {@code null} if the response is not incremental.
+ */
+public record GraphQlIncrementalPayload(
+        LinkedHashMap<Object, Object> data,
+        Collection<GraphQlError> errors,
+        Collection<GraphQlIncrementalPatch> incremental,
+        Boolean hasNext
+) {
+}
@@ -0,0 +1,20 @@
+package com.vinilemess.graphqljavaplayground.graphql.client.result;
+
+import java.util.Collection;
+
+/**
+ * Represents the result of a {@code GraphQlOperation}, with its data decoded into the operation's result type.
+ *
+ * @param <T>    the type of the data.
+ * @param data   the decoded data, or {@code null} if the response had none.
+ * @param errors the collection of errors returned by the GraphQL server, empty if there were none.
+ */
+public record GraphQlOperationResult<T>(T data, Collection<GraphQlError> errors) {
+
+    /**
+     * @return {@code true} if the GraphQL server returned errors.
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
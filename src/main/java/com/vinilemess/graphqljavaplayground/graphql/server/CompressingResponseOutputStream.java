@@ -0,0 +1,184 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Output stream that writes a response body to the servlet response, compressing it once it grows past a
+ * size threshold.
+ * <p>
+ * The first {@code minCompressedSize} bytes are held back. If the body ends before reaching that size, it is
+ * written uncompressed with a {@code Content-Length}. Otherwise the {@code Content-Encoding} header is set and the
+ * held back bytes, followed by everything written afterwards, are streamed through the compressor. Memory use is
+ * therefore bounded by the threshold regardless of the body size.
+ */
+class CompressingResponseOutputStream extends OutputStream {
+    private static final int COMPRESSOR_BUFFER_SIZE = 8192;
+
+    private final HttpServletResponse response;
+    private final ContentEncoding contentEncoding;
+    private final int minCompressedSize;
+    private ByteArrayOutputStream heldBackBytes;
+    private OutputStream target;
+    private Deflater deflater;
+    private boolean closed;
+
+    /**
+     * Creates a stream over the given response.
+     *
+     * @param response          the servlet response to write to.
+     * @param contentEncoding   the negotiated encoding, or {@code null} to write the body uncompressed.
+     * @param minCompressedSize the minimum body size in bytes for the body to be compressed.
+     */
+    CompressingResponseOutputStream(final HttpServletResponse response,
+                                    final ContentEncoding contentEncoding,
+                                    final int minCompressedSize) {
+        this.response = response;
+        this.contentEncoding = contentEncoding;
+        this.minCompressedSize = minCompressedSize;
+        this.heldBackBytes = new ByteArrayOutputStream(Math.min(minCompressedSize, COMPRESSOR_BUFFER_SIZE));
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (target == null) {
+            if (heldBackBytes.size() + length <= minCompressedSize) {
+                heldBackBytes.write(bytes, offset, length);
+                return;
+            }
+            target = openTarget();
+            heldBackBytes.writeTo(target);
+            heldBackBytes = null;
+        }
+        target.write(bytes, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // held back bytes are not flushed, as that would commit the response before the encoding is decided
+        if (target != null) {
+            target.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (target == null) {
+            response.setContentLength(heldBackBytes.size());
+            heldBackBytes.writeTo(response.getOutputStream());
+            response.getOutputStream().flush();
+        } else {
+            try {
+                target.close();
+            } finally {
+                // a deflater handed to DeflaterOutputStream is not released when the stream is closed
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+        }
+    }
+
+    private OutputStream openTarget() throws IOException {
+        if (contentEncoding == null) {
+            return response.getOutputStream();
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding.token());
+        // sync flush, so that flushing the stream pushes everything written so far to the client
+        return switch (contentEncoding) {
+            case GZIP -> new GZIPOutputStream(response.getOutputStream(), COMPRESSOR_BUFFER_SIZE, true);
+            case DEFLATE -> {
+                deflater = new Deflater();
+                yield new DeflaterOutputStream(response.getOutputStream(), deflater, COMPRESSOR_BUFFER_SIZE, true);
+            }
+        };
+    }
+
+    /**
+     * Content codings supported for response bodies, in order of preference.
+     */
+    enum ContentEncoding {
+        GZIP("gzip"),
+        DEFLATE("deflate");
+
+        private final String token;
+
+        ContentEncoding(final String token) {
+            this.token = token;
+        }
+
+        String token() {
+            return token;
+        }
+
+        /**
+         * Picks the content coding with the highest quality value in an {@code Accept-Encoding} header, preferring
+         * {@code gzip} on ties. A {@code *} entry stands for codings not listed explicitly.
+         *
+         * @param acceptEncoding the {@code Accept-Encoding} header value, possibly {@code null}.
+         * @return the negotiated encoding, or {@code null} if the client accepts none of the supported codings.
+         */
+        static ContentEncoding negotiate(final String acceptEncoding) {
+            if (acceptEncoding == null || acceptEncoding.isBlank()) {
+                return null;
+            }
+            ContentEncoding negotiated = null;
+            double negotiatedQuality = 0;
+            for (final ContentEncoding candidate : values()) {
+                final double quality = quality(acceptEncoding, candidate);
+                if (quality > negotiatedQuality) {
+                    negotiated = candidate;
+                    negotiatedQuality = quality;
+                }
+            }
+            return negotiated;
+        }
+
+        private static double quality(final String acceptEncoding, final ContentEncoding candidate) {
+            double wildcardQuality = 0;
+            for (final String entry : acceptEncoding.split(",")) {
+                final String[] parameters = entry.split(";");
+                final String coding = parameters[0].trim().toLowerCase(Locale.ROOT);
+                final double quality = parseQuality(parameters);
+                if (coding.equals(candidate.token) || (candidate == GZIP && coding.equals("x-gzip"))) {
+                    return quality;
+                }
+                if (coding.equals("*")) {
+                    wildcardQuality = quality;
+                }
+            }
+            return wildcardQuality;
+        }
+
+        private static double parseQuality(final String[] parameters) {
+            for (int i = 1; i < parameters.length; i++) {
+                final String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2));
+                    } catch (final NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+    }
+}
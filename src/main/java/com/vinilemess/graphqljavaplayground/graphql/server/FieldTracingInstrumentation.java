@@ -0,0 +1,169 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.incremental.IncrementalExecutionResult;
+import graphql.language.Document;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.validation.ValidationError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GraphQL instrumentation that records the start offset and duration of each execution phase
+ * (parsing, validation, execution) and of each field fetch.
+ * <p>
+ * Requests are sampled according to {@code graphql-tracing.sample-rate}; requests carrying the
+ * {@link TraceRequestInterceptor#TRACE_HEADER} header are always traced and get the trace back in the
+ * {@code tracing} entry of the response {@code extensions}. Timings of traced requests are aggregated into the
+ * {@code graphql.trace.phase} and {@code graphql.trace.field} latency histograms.
+ * <p>
+ * Requests that are not traced carry no instrumentation state, so every callback returns immediately.
+ * Incremental ({@code @defer}) results are measured but never get the trace in their extensions.
+ */
+@Component
+public class FieldTracingInstrumentation implements Instrumentation {
+    /**
+     * Key of the {@code GraphQLContext} entry that requests the trace to be returned in the response extensions.
+     */
+    public static final String TRACE_REQUESTED = FieldTracingInstrumentation.class.getName() + ".TRACE_REQUESTED";
+
+    private static final String PHASE_TIMER = "graphql.trace.phase";
+    private static final String FIELD_TIMER = "graphql.trace.field";
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final boolean includeTrivialFields;
+    private final Map<TimerKey, Timer> timers;
+
+    public FieldTracingInstrumentation(final MeterRegistry meterRegistry,
+                                       @Value("${graphql-tracing.sample-rate:0.05}") final double sampleRate,
+                                       @Value("${graphql-tracing.include-trivial-fields:false}") final boolean includeTrivialFields) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.includeTrivialFields = includeTrivialFields;
+        this.timers = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public InstrumentationState createState(final InstrumentationCreateStateParameters parameters) {
+        final boolean traceRequested = Boolean.TRUE.equals(parameters.getExecutionInput().getGraphQLContext().get(TRACE_REQUESTED));
+        if (traceRequested || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            return new RequestTrace(traceRequested);
+        }
+        return null;
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(final InstrumentationExecutionParameters parameters,
+                                                       final InstrumentationState state) {
+        if (!(state instanceof final RequestTrace trace)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        return phaseContext(trace, "parsing");
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(final InstrumentationValidationParameters parameters,
+                                                                         final InstrumentationState state) {
+        if (!(state instanceof final RequestTrace trace)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        return phaseContext(trace, "validation");
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(final InstrumentationExecuteOperationParameters parameters,
+                                                                         final InstrumentationState state) {
+        if (!(state instanceof final RequestTrace trace)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        return phaseContext(trace, "execution");
+    }
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(final InstrumentationFieldFetchParameters parameters,
+                                                                  final InstrumentationState state) {
+        if (!(state instanceof final RequestTrace trace) || (parameters.isTrivialDataFetcher() && !includeTrivialFields)) {
+            // a null context is graphql-java's no-op for field fetching
+            return null;
+        }
+        final long startNanos = System.nanoTime();
+        return new FieldFetchingInstrumentationContext() {
+            @Override
+            public void onDispatched() {
+            }
+
+            @Override
+            public void onCompleted(final Object result, final Throwable throwable) {
+                final ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+                final String parentType = stepInfo.getObjectType().getName();
+                final String fieldName = stepInfo.getFieldDefinition().getName();
+                final long durationNanos = trace.recordField(
+                        stepInfo.getPath().toString(),
+                        parentType,
+                        fieldName,
+                        GraphQLTypeUtil.simplePrint(stepInfo.getType()),
+                        startNanos
+                );
+                timer(FIELD_TIMER, "parentType", parentType, "field", fieldName).record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(final ExecutionResult executionResult,
+                                                                        final InstrumentationExecutionParameters parameters,
+                                                                        final InstrumentationState state) {
+        if (!(state instanceof final RequestTrace trace)
+                || !trace.isReturnedInExtensions()
+                || executionResult instanceof IncrementalExecutionResult) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        return CompletableFuture.completedFuture(ExecutionResult.newExecutionResult()
+                .from(executionResult)
+                .addExtension("tracing", trace.toExtension())
+                .build());
+    }
+
+    private <T> InstrumentationContext<T> phaseContext(final RequestTrace trace, final String phase) {
+        final long startNanos = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            final long durationNanos = trace.recordPhase(phase, startNanos);
+            timer(PHASE_TIMER, "phase", phase).record(durationNanos, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * Returns the histogram-backed timer for the given name and tags, caching it to keep meter registry lookups
+     * off the field fetch path.
+     */
+    private Timer timer(final String name, final String... tags) {
+        return timers.computeIfAbsent(new TimerKey(name, List.of(tags)), key -> Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(String name, List<String> tags) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import com.vinilemess.graphqljavaplayground.graphql.server.CompressingResponseOutputStream.ContentEncoding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.RequestPredicate;
+import org.springframework.web.servlet.function.RequestPredicates;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Configuration of the HTTP routes that extend the default Spring GraphQL endpoint.
+ * <p>
+ * The routes are ordered ahead of the Spring GraphQL router so that requests they match are handled here,
+ * while everything else falls through to the default endpoint.
+ */
+@Configuration
+public class GraphQlServerConfiguration {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public RouterFunction<ServerResponse> graphQlServerRouterFunction(@Value("${spring.graphql.path:/graphql}") final String path,
+                                                                      @Value("${graphql-response.compression.enabled:true}") final boolean compressionEnabled,
+                                                                      final IncrementalDeliveryHandler incrementalDeliveryHandler,
+                                                                      final HttpGetGraphQlHandler httpGetGraphQlHandler,
+                                                                      final StreamingGraphQlHandler streamingGraphQlHandler) {
+        final RouterFunctions.Builder builder = RouterFunctions.route()
+                .POST(path, RequestPredicates.contentType(MediaType.APPLICATION_JSON).and(acceptsMultipartMixed()),
+                        incrementalDeliveryHandler::handleRequest);
+        if (compressionEnabled) {
+            builder.POST(path, RequestPredicates.contentType(MediaType.APPLICATION_JSON)
+                            .and(RequestPredicates.accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_GRAPHQL_RESPONSE))
+                            .and(acceptsSupportedContentEncoding()),
+                    streamingGraphQlHandler::handleRequest);
+        }
+        return builder
+                .GET(path, hasGraphQlRequestParameters(), httpGetGraphQlHandler::handleRequest)
+                .build();
+    }
+
+    /**
+     * Matches {@code GET} requests carrying a query or a persisted query hash in their URL parameters.
+     */
+    private static RequestPredicate hasGraphQlRequestParameters() {
+        return request -> request.param("query").isPresent() || request.param("extensions").isPresent();
+    }
+
+    /**
+     * Matches requests whose {@code Accept-Encoding} header allows one of the codings
+     * {@link StreamingGraphQlHandler} compresses with. Other requests are left to the default endpoint, since
+     * there is nothing to gain from handling them here.
+     */
+    private static RequestPredicate acceptsSupportedContentEncoding() {
+        return RequestPredicates.headers(headers ->
+                ContentEncoding.negotiate(headers.firstHeader(HttpHeaders.ACCEPT_ENCODING)) != null);
+    }
+
+    /**
+     * Matches requests that explicitly list {@code multipart/mixed} in their {@code Accept} header. Unlike
+     * {@link RequestPredicates#accept(MediaType...)}, wildcard media types do not match, so generic
+     * clients keep receiving plain JSON.
+     */
+    private static RequestPredicate acceptsMultipartMixed() {
+        return RequestPredicates.headers(headers -> headers.accept()
+                .stream()
+                .anyMatch(mediaType -> "multipart".equals(mediaType.getType()) && "mixed".equals(mediaType.getSubtype())));
+    }
+}
@@ -0,0 +1,166 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.GraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultGraphQlRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP handler for GraphQL queries sent as {@code GET} requests, so that results can be cached and revalidated
+ * by HTTP caches.
+ * <p>
+ * The request is read from the {@code query}, {@code operationName}, {@code variables} and {@code extensions}
+ * URL parameters, the latter two as JSON. Instead of the query, clients may send the hash of a persisted query in
+ * {@code extensions.persistedQuery.sha256Hash}, see {@link PersistedQueryStore}. Only query operations are
+ * executed; mutations and subscriptions are answered with {@code 405 Method Not Allowed}.
+ * <p>
+ * Successful results carry an {@code ETag} computed over the serialized result, and requests whose
+ * {@code If-None-Match} header matches it are answered with {@code 304 Not Modified} and no body.
+ */
+@Component
+public class HttpGetGraphQlHandler {
+    private static final TypeReference<Map<String, Object>> JSON_PARAMETER_TYPE = new TypeReference<>() {
+    };
+
+    private final WebGraphQlHandler webGraphQlHandler;
+    private final PersistedQueryStore persistedQueryStore;
+    private final ObjectMapper objectMapper;
+    private final String cacheControl;
+
+    public HttpGetGraphQlHandler(final WebGraphQlHandler webGraphQlHandler,
+                                 final PersistedQueryStore persistedQueryStore,
+                                 final ObjectMapper objectMapper,
+                                 @Value("${graphql-http-get.cache-control:no-cache}") final String cacheControl) {
+        this.webGraphQlHandler = webGraphQlHandler;
+        this.persistedQueryStore = persistedQueryStore;
+        this.objectMapper = objectMapper;
+        this.cacheControl = cacheControl;
+    }
+
+    /**
+     * Executes the GraphQL query described by the URL parameters of the request.
+     *
+     * @param serverRequest the HTTP request.
+     * @return the GraphQL response, a {@code 304 Not Modified} response if the client's cached result is still
+     *         current, or an error response if the request is invalid or not a query.
+     */
+    public ServerResponse handleRequest(final ServerRequest serverRequest) {
+        final Map<String, Object> variables;
+        final Map<String, Object> extensions;
+        try {
+            variables = readJsonParameter(serverRequest, "variables");
+            extensions = readJsonParameter(serverRequest, "extensions");
+        } catch (final JsonProcessingException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "Malformed JSON URL parameter", "BAD_REQUEST");
+        }
+
+        String query = serverRequest.param("query").orElse(null);
+        final String sha256Hash = persistedQueryHash(extensions);
+        if (sha256Hash != null && query != null) {
+            try {
+                persistedQueryStore.register(sha256Hash, query);
+            } catch (final IllegalArgumentException e) {
+                return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage(), "PERSISTED_QUERY_HASH_MISMATCH");
+            }
+        } else if (sha256Hash != null) {
+            query = persistedQueryStore.get(sha256Hash);
+            if (query == null) {
+                return errorResponse(HttpStatus.OK, "PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND");
+            }
+        }
+        if (query == null || query.isBlank()) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "No query provided", "BAD_REQUEST");
+        }
+
+        final String operationName = serverRequest.param("operationName").orElse(null);
+        if (!isQueryOperation(query, operationName)) {
+            return ServerResponse.status(HttpStatus.METHOD_NOT_ALLOWED).allow(HttpMethod.POST).build();
+        }
+
+        final GraphQlRequest body = new DefaultGraphQlRequest(query, operationName, variables, extensions);
+        return ServerResponse.async(webGraphQlHandler.handleRequest(WebGraphQlRequests.create(serverRequest, body))
+                .map(response -> toServerResponse(serverRequest, response))
+                .toFuture());
+    }
+
+    private ServerResponse toServerResponse(final ServerRequest serverRequest, final WebGraphQlResponse response) {
+        final byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response.toMap());
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        final ServerResponse.BodyBuilder responseBuilder = ServerResponse.ok()
+                .headers(headers -> headers.putAll(response.getResponseHeaders()))
+                .contentType(MediaType.APPLICATION_JSON);
+        if (!response.getErrors().isEmpty()) {
+            // errors may be transient, so results carrying them are never cached
+            return responseBuilder.cacheControl(CacheControl.noStore()).body(body);
+        }
+        final String eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        return serverRequest.checkNotModified(eTag)
+                .orElseGet(() -> responseBuilder.eTag(eTag).header(HttpHeaders.CACHE_CONTROL, cacheControl).body(body));
+    }
+
+    private Map<String, Object> readJsonParameter(final ServerRequest serverRequest,
+                                                  final String name) throws JsonProcessingException {
+        final String parameter = serverRequest.param(name).orElse(null);
+        if (parameter == null || parameter.isBlank()) {
+            return null;
+        }
+        return objectMapper.readValue(parameter, JSON_PARAMETER_TYPE);
+    }
+
+    private static String persistedQueryHash(final Map<String, Object> extensions) {
+        if (extensions != null
+                && extensions.get("persistedQuery") instanceof final Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof final String sha256Hash) {
+            return sha256Hash;
+        }
+        return null;
+    }
+
+    /**
+     * Checks that the operation to execute is a query. Documents that cannot be parsed, or have no operation
+     * matching {@code operationName}, are left to the execution to report as GraphQL errors.
+     */
+    private static boolean isQueryOperation(final String query, final String operationName) {
+        final Document document;
+        try {
+            document = Parser.parse(query);
+        } catch (final InvalidSyntaxException e) {
+            return true;
+        }
+        return document.getDefinitionsOfType(OperationDefinition.class)
+                .stream()
+                .filter(operation -> operationName == null || operationName.equals(operation.getName()))
+                .allMatch(operation -> operation.getOperation() == OperationDefinition.Operation.QUERY);
+    }
+
+    private static ServerResponse errorResponse(final HttpStatus status, final String message, final String code) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("errors", List.of(Map.of("message", message, "extensions", Map.of("code", code)))));
+    }
+}
@@ -0,0 +1,104 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.ExperimentalApi;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * HTTP handler for GraphQL requests that accept {@code multipart/mixed} responses, enabling incremental
+ * delivery of {@code @defer} fragments.
+ * <p>
+ * The initial result is written as the first part as soon as it is available and each deferred payload
+ * follows as its own part, so clients can render fast fields without waiting for the slowest resolver.
+ * Results that contain no deferred fragments are written as a single part.
+ */
+@Component
+public class IncrementalDeliveryHandler {
+    /**
+     * Media type of incremental responses, following the {@code @defer} incremental delivery over HTTP format.
+     */
+    public static final MediaType MULTIPART_MIXED = new MediaType("multipart", "mixed",
+            Map.of("boundary", "\"-\"", "deferSpec", "20220824"));
+
+    private static final byte[] PART_DELIMITER = "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSE_DELIMITER = "\r\n-----\r\n".getBytes(StandardCharsets.UTF_8);
+
+    private final WebGraphQlHandler webGraphQlHandler;
+    private final ObjectMapper objectMapper;
+
+    public IncrementalDeliveryHandler(final WebGraphQlHandler webGraphQlHandler, final ObjectMapper objectMapper) {
+        this.webGraphQlHandler = webGraphQlHandler;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Executes the GraphQL request with incremental support enabled and streams the result as {@code multipart/mixed}.
+     *
+     * @param serverRequest the HTTP request.
+     * @return an asynchronous {@link ServerResponse} that writes each payload as it becomes available.
+     * @throws Exception if the request body cannot be read.
+     */
+    public ServerResponse handleRequest(final ServerRequest serverRequest) throws Exception {
+        final WebGraphQlRequest request = WebGraphQlRequests.create(serverRequest);
+        request.configureExecutionInput((executionInput, builder) -> builder
+                .graphQLContext(Map.of(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true))
+                .build());
+        return ServerResponse.async(webGraphQlHandler.handleRequest(request)
+                .map(this::toServerResponse)
+                .toFuture());
+    }
+
+    private ServerResponse toServerResponse(final WebGraphQlResponse response) {
+        return ServerResponse.ok()
+                .headers(headers -> headers.putAll(response.getResponseHeaders()))
+                .contentType(MULTIPART_MIXED)
+                .build((servletRequest, servletResponse) -> {
+                    try {
+                        writeParts(response.getExecutionResult(), servletResponse.getOutputStream());
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Writes the initial result and, for incremental results, each deferred payload as a separate part,
+     * flushing after every part so it reaches the client immediately.
+     */
+    private void writeParts(final ExecutionResult executionResult, final OutputStream outputStream) throws IOException {
+        writePart(executionResult.toSpecification(), outputStream);
+        if (executionResult instanceof final IncrementalExecutionResult incrementalExecutionResult) {
+            final Iterable<DelayedIncrementalPartialResult> partialResults =
+                    Flux.from(incrementalExecutionResult.getIncrementalItemPublisher()).toIterable();
+            for (final DelayedIncrementalPartialResult partialResult : partialResults) {
+                writePart(partialResult.toSpecification(), outputStream);
+            }
+        }
+        outputStream.write(CLOSE_DELIMITER);
+        outputStream.flush();
+    }
+
+    private void writePart(final Map<String, Object> payload, final OutputStream outputStream) throws IOException {
+        outputStream.write(PART_DELIMITER);
+        outputStream.write(objectMapper.writeValueAsBytes(payload));
+        outputStream.flush();
+    }
+}
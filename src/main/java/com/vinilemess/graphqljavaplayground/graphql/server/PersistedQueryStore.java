@@ -0,0 +1,72 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, in-memory store of persisted queries keyed by the hex encoded SHA-256 hash of the query text.
+ * <p>
+ * Follows the automatic persisted queries protocol: a client first sends only the hash, and registers the query by
+ * sending it together with its hash when the server does not know it yet. The least recently used queries are
+ * evicted once {@code graphql-http-get.persisted-queries.max-entries} is exceeded.
+ */
+@Component
+public class PersistedQueryStore {
+    private final Map<String, String> queries;
+
+    public PersistedQueryStore(@Value("${graphql-http-get.persisted-queries.max-entries:1000}") final int maxEntries) {
+        this.queries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Returns the query registered for the given hash.
+     *
+     * @param sha256Hash the hex encoded SHA-256 hash of the query.
+     * @return the query, or {@code null} if no query is registered for the hash.
+     */
+    public String get(final String sha256Hash) {
+        return queries.get(sha256Hash.toLowerCase());
+    }
+
+    /**
+     * Registers a query under its hash.
+     *
+     * @param sha256Hash the hex encoded SHA-256 hash the client computed for the query.
+     * @param query      the query text.
+     * @throws IllegalArgumentException if the hash does not match the query.
+     */
+    public void register(final String sha256Hash, final String query) {
+        if (!sha256Hex(query).equalsIgnoreCase(sha256Hash)) {
+            throw new IllegalArgumentException("Provided sha256Hash does not match the query");
+        }
+        queries.put(sha256Hash.toLowerCase(), query);
+    }
+
+    /**
+     * Computes the hex encoded SHA-256 hash of a query, as used by persisted query clients.
+     *
+     * @param query the query text.
+     * @return the lower case hex encoded SHA-256 hash.
+     */
+    public static String sha256Hex(final String query) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import graphql.execution.instrumentation.InstrumentationState;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Timings recorded by {@link FieldTracingInstrumentation} for a single sampled GraphQL request.
+ * <p>
+ * Offsets are relative to the start of the request, in nanoseconds. Field fetches may complete concurrently,
+ * so spans are collected in thread-safe queues.
+ */
+class RequestTrace implements InstrumentationState {
+    private final Instant startTime;
+    private final long startNanos;
+    private final boolean returnedInExtensions;
+    private final Queue<Map<String, Object>> phases;
+    private final Queue<Map<String, Object>> fields;
+
+    RequestTrace(final boolean returnedInExtensions) {
+        this.startTime = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.returnedInExtensions = returnedInExtensions;
+        this.phases = new ConcurrentLinkedQueue<>();
+        this.fields = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Returns whether the client asked for this trace to be returned in the response {@code extensions}.
+     */
+    boolean isReturnedInExtensions() {
+        return returnedInExtensions;
+    }
+
+    /**
+     * Records an execution phase that started at {@code startNanos} and ended now.
+     *
+     * @return the duration of the phase in nanoseconds.
+     */
+    long recordPhase(final String name, final long startNanos) {
+        final long durationNanos = System.nanoTime() - startNanos;
+        if (returnedInExtensions) {
+            final Map<String, Object> phase = new LinkedHashMap<>();
+            phase.put("name", name);
+            phases.add(withTimings(phase, startNanos, durationNanos));
+        }
+        return durationNanos;
+    }
+
+    /**
+     * Records a field fetch that started at {@code startNanos} and ended now.
+     *
+     * @return the duration of the field fetch in nanoseconds.
+     */
+    long recordField(final String path,
+                     final String parentType,
+                     final String fieldName,
+                     final String returnType,
+                     final long startNanos) {
+        final long durationNanos = System.nanoTime() - startNanos;
+        if (returnedInExtensions) {
+            final Map<String, Object> field = new LinkedHashMap<>();
+            field.put("path", path);
+            field.put("parentType", parentType);
+            field.put("fieldName", fieldName);
+            field.put("returnType", returnType);
+            fields.add(withTimings(field, startNanos, durationNanos));
+        }
+        return durationNanos;
+    }
+
+    /**
+     * Returns the trace in the shape written to the {@code tracing} entry of the response {@code extensions}.
+     */
+    Map<String, Object> toExtension() {
+        final Map<String, Object> extension = new LinkedHashMap<>();
+        extension.put("startTime", startTime.toString());
+        extension.put("durationNs", System.nanoTime() - startNanos);
+        extension.put("phases", List.copyOf(phases));
+        extension.put("fields", List.copyOf(fields));
+        return extension;
+    }
+
+    private Map<String, Object> withTimings(final Map<String, Object> span, final long spanStartNanos, final long durationNanos) {
+        span.put("startOffsetNs", spanStartNanos - startNanos);
+        span.put("durationNs", durationNanos);
+        return span;
+    }
+}
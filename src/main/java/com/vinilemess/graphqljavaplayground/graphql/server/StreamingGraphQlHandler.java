@@ -0,0 +1,157 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinilemess.graphqljavaplayground.graphql.server.CompressingResponseOutputStream.ContentEncoding;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * HTTP handler for GraphQL {@code POST} requests that writes the result incrementally to the servlet output stream.
+ * <p>
+ * The result is written with a Jackson {@link JsonGenerator} directly over the response stream, walking its data
+ * field by field and list element by list element, so neither a specification map of the response nor the
+ * serialized body is built as a whole: bytes reach the client each time the generator's buffer fills. The data
+ * itself is completed by graphql-java before writing starts. When {@code graphql-response.compression.enabled} is set, bodies larger than
+ * {@code graphql-response.compression.min-response-size} bytes are compressed with the {@code gzip} or
+ * {@code deflate} coding negotiated from the {@code Accept-Encoding} header.
+ * <p>
+ * Status codes, content types and error bodies are the same as those of the default Spring GraphQL endpoint.
+ */
+@Component
+public class StreamingGraphQlHandler {
+    private final WebGraphQlHandler webGraphQlHandler;
+    private final ObjectMapper objectMapper;
+    private final boolean compressionEnabled;
+    private final int minCompressedSize;
+
+    public StreamingGraphQlHandler(final WebGraphQlHandler webGraphQlHandler,
+                                   final ObjectMapper objectMapper,
+                                   @Value("${graphql-response.compression.enabled:true}") final boolean compressionEnabled,
+                                   @Value("${graphql-response.compression.min-response-size:2048}") final int minCompressedSize) {
+        if (minCompressedSize < 0) {
+            throw new IllegalArgumentException("graphql-response.compression.min-response-size must not be negative");
+        }
+        this.webGraphQlHandler = webGraphQlHandler;
+        this.objectMapper = objectMapper;
+        this.compressionEnabled = compressionEnabled;
+        this.minCompressedSize = minCompressedSize;
+    }
+
+    /**
+     * Executes the GraphQL request and streams the result.
+     *
+     * @param serverRequest the HTTP request.
+     * @return an asynchronous {@link ServerResponse} that streams the result once it is available.
+     * @throws Exception if the request body cannot be read.
+     */
+    public ServerResponse handleRequest(final ServerRequest serverRequest) throws Exception {
+        final ContentEncoding contentEncoding = compressionEnabled
+                ? ContentEncoding.negotiate(serverRequest.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING))
+                : null;
+        final MediaType contentType = responseContentType(serverRequest);
+        return ServerResponse.async(webGraphQlHandler.handleRequest(WebGraphQlRequests.create(serverRequest))
+                .map(response -> toServerResponse(response, contentType, contentEncoding))
+                .toFuture());
+    }
+
+    private ServerResponse toServerResponse(final WebGraphQlResponse response,
+                                            final MediaType contentType,
+                                            final ContentEncoding contentEncoding) {
+        return ServerResponse.ok()
+                .headers(headers -> {
+                    headers.putAll(response.getResponseHeaders());
+                    if (compressionEnabled) {
+                        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    }
+                })
+                .contentType(contentType)
+                .build((servletRequest, servletResponse) -> {
+                    final OutputStream outputStream = new CompressingResponseOutputStream(servletResponse, contentEncoding, minCompressedSize);
+                    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                        writeResult(generator, response.getExecutionResult());
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Writes the result in the shape of {@link ExecutionResult#toSpecification()}, which the default endpoint
+     * serializes.
+     *
+     * @param generator the generator to write to.
+     * @param result    the result to write.
+     * @throws IOException if writing fails.
+     */
+    static void writeResult(final JsonGenerator generator, final ExecutionResult result) throws IOException {
+        generator.writeStartObject();
+        if (!result.getErrors().isEmpty()) {
+            generator.writeArrayFieldStart("errors");
+            for (final GraphQLError error : result.getErrors()) {
+                generator.writeObject(error.toSpecification());
+            }
+            generator.writeEndArray();
+        }
+        if (result.isDataPresent()) {
+            generator.writeFieldName("data");
+            writeValue(generator, result.getData());
+        }
+        if (result.getExtensions() != null) {
+            generator.writeFieldName("extensions");
+            generator.writeObject(result.getExtensions());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+        if (value instanceof Map<?, ?> object) {
+            generator.writeStartObject();
+            for (final Map.Entry<?, ?> field : object.entrySet()) {
+                generator.writeFieldName(String.valueOf(field.getKey()));
+                writeValue(generator, field.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Iterable<?> list) {
+            generator.writeStartArray();
+            for (final Object element : list) {
+                writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else {
+            // scalars, already coerced by graphql-java, and null
+            generator.writeObject(value);
+        }
+    }
+
+    /**
+     * Answers with the first of {@code application/graphql-response+json} and {@code application/json} that the
+     * client explicitly lists in its {@code Accept} header, as the default Spring GraphQL endpoint does, and with
+     * {@code application/json} otherwise.
+     */
+    private static MediaType responseContentType(final ServerRequest serverRequest) {
+        for (final MediaType accepted : serverRequest.headers().accept()) {
+            if (MediaType.APPLICATION_GRAPHQL_RESPONSE.equalsTypeAndSubtype(accepted)) {
+                return MediaType.APPLICATION_GRAPHQL_RESPONSE;
+            }
+            if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(accepted)) {
+                return MediaType.APPLICATION_JSON;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
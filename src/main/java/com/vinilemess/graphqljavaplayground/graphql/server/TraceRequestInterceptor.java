@@ -0,0 +1,31 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Interceptor that asks {@link FieldTracingInstrumentation} to trace a request and return the trace in the
+ * response {@code extensions} when the request carries the {@link #TRACE_HEADER} header set to {@code true}.
+ */
+@Component
+public class TraceRequestInterceptor implements WebGraphQlInterceptor {
+    /**
+     * Request header that asks for the execution trace to be returned in the response.
+     */
+    public static final String TRACE_HEADER = "X-GraphQL-Trace";
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(final WebGraphQlRequest request, final Chain chain) {
+        if (Boolean.parseBoolean(request.getHeaders().getFirst(TRACE_HEADER))) {
+            request.configureExecutionInput((executionInput, builder) -> builder
+                    .graphQLContext(Map.of(FieldTracingInstrumentation.TRACE_REQUESTED, true))
+                    .build());
+        }
+        return chain.next(request);
+    }
+}
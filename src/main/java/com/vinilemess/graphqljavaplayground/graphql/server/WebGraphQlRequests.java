@@ -0,0 +1,68 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.graphql.GraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.support.SerializableGraphQlRequest;
+import org.springframework.http.HttpCookie;
+import org.springframework.util.AlternativeJdkIdGenerator;
+import org.springframework.util.IdGenerator;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.servlet.function.ServerRequest;
+
+/**
+ * Utility class for creating {@link WebGraphQlRequest}s from Spring MVC functional {@link ServerRequest}s,
+ * so the custom HTTP handlers of this package go through the same {@code WebGraphQlHandler} chain,
+ * interceptors included, as the default Spring GraphQL endpoint.
+ */
+class WebGraphQlRequests {
+    private static final IdGenerator ID_GENERATOR = new AlternativeJdkIdGenerator();
+
+    private WebGraphQlRequests() {
+    }
+
+    /**
+     * Creates a {@link WebGraphQlRequest} for a server request carrying the GraphQL request as a JSON body.
+     *
+     * @param serverRequest the HTTP request.
+     * @return a new {@link WebGraphQlRequest}.
+     * @throws ServerWebInputException if the request body has no query.
+     * @throws Exception if the request body cannot be read.
+     */
+    static WebGraphQlRequest create(final ServerRequest serverRequest) throws Exception {
+        final SerializableGraphQlRequest body = serverRequest.body(SerializableGraphQlRequest.class);
+        if (body.getQuery() == null || body.getQuery().isBlank()) {
+            throw new ServerWebInputException("No \"query\" in the request document");
+        }
+        return create(serverRequest, body);
+    }
+
+    /**
+     * Creates a {@link WebGraphQlRequest} for the given server request and GraphQL request body.
+     *
+     * @param serverRequest the HTTP request.
+     * @param body          the GraphQL request.
+     * @return a new {@link WebGraphQlRequest}.
+     */
+    static WebGraphQlRequest create(final ServerRequest serverRequest, final GraphQlRequest body) {
+        return new WebGraphQlRequest(
+                serverRequest.uri(),
+                serverRequest.headers().asHttpHeaders(),
+                cookies(serverRequest),
+                serverRequest.remoteAddress().orElse(null),
+                serverRequest.attributes(),
+                body,
+                ID_GENERATOR.generateId().toString(),
+                LocaleContextHolder.getLocale()
+        );
+    }
+
+    private static MultiValueMap<String, HttpCookie> cookies(final ServerRequest serverRequest) {
+        final MultiValueMap<String, HttpCookie> cookies = new LinkedMultiValueMap<>();
+        serverRequest.cookies().forEach((name, servletCookies) ->
+                servletCookies.forEach(cookie -> cookies.add(name, new HttpCookie(name, cookie.getValue()))));
+        return cookies;
+    }
+}
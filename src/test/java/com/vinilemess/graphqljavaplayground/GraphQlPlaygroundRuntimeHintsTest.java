@@ -0,0 +1,71 @@
+package com.vinilemess.graphqljavaplayground;
+
+import com.vinilemess.graphqljavaplayground.api.mock.usertransaction.Transaction;
+import com.vinilemess.graphqljavaplayground.api.mock.usertransaction.User;
+import com.vinilemess.graphqljavaplayground.api.mock.usertransaction.UserTransaction;
+import com.vinilemess.graphqljavaplayground.graphql.client.GraphQlRequestBody;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlError;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlIncrementalPatch;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlIncrementalPayload;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQlPlaygroundRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setup() {
+        new GraphQlPlaygroundRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterOnlyRecordsJacksonBindsInClient() {
+        // GraphQlRequestBody is written by its toString(), GraphQlResult is read by RestClient and from the validator
+        // cache, GraphQlIncrementalPayload from each multipart part, and the others are nested in them
+        final Set<String> registeredTypes = hints.reflection().typeHints()
+                .map(typeHint -> typeHint.getType().getName())
+                .filter(typeName -> typeName.startsWith("com.vinilemess."))
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of(
+                GraphQlRequestBody.class.getName(),
+                GraphQlResult.class.getName(),
+                GraphQlError.class.getName(),
+                GraphQlError.Location.class.getName(),
+                GraphQlError.Extensions.class.getName(),
+                GraphQlIncrementalPayload.class.getName(),
+                GraphQlIncrementalPatch.class.getName()
+        ), registeredTypes);
+    }
+
+    @Test
+    void shouldRegisterAccessorsOfBoundRecords() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GraphQlRequestBody.class, "query").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GraphQlResult.class, "data").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GraphQlError.class, "message").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GraphQlError.Location.class, "line").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GraphQlIncrementalPayload.class, "hasNext").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GraphQlIncrementalPatch.class, "path").test(hints));
+    }
+
+    @Test
+    void shouldLeaveSchemaFilesControllerTypesAndJacksonModulesToSpring() {
+        assertFalse(RuntimeHintsPredicates.resource().forResource("graphql/UserTransaction.graphqls").test(hints));
+        assertFalse(RuntimeHintsPredicates.reflection().onType(User.class).test(hints));
+        assertFalse(RuntimeHintsPredicates.reflection().onType(Transaction.class).test(hints));
+        assertFalse(RuntimeHintsPredicates.reflection().onType(UserTransaction.class).test(hints));
+        assertFalse(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.fasterxml.jackson.datatype.jsr310.JavaTimeModule"))
+                .test(hints));
+    }
+}
@@ -0,0 +1,75 @@
+package com.vinilemess.graphqljavaplayground.api.mock.usertransaction;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionStoreTest {
+
+    private static final LocalDateTime BASE_DATE_TIME = LocalDateTime.of(2049, 10, 5, 0, 0, 0);
+
+    @Test
+    void shouldReturnTransactionsOfSignatureOrderedByDateTime() {
+        final var store = TransactionStore.builder(4)
+                .add("sig1", 3, BASE_DATE_TIME.plusDays(2), new BigDecimal("30.00"))
+                .add("sig2", 2, BASE_DATE_TIME.plusDays(1), new BigDecimal("20"))
+                .add("sig1", 1, BASE_DATE_TIME, new BigDecimal("10.5"))
+                .build();
+
+        final var result = store.findByUserSignature("sig1", null, null, 0, 10);
+
+        assertEquals(List.of(
+                new Transaction("1", BASE_DATE_TIME, new BigDecimal("10.5")),
+                new Transaction("3", BASE_DATE_TIME.plusDays(2), new BigDecimal("30.00"))
+        ), result);
+        assertEquals(1, store.findByUserSignature("sig2", null, null, 0, 10).size());
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void shouldReturnTransactionsWithinRangeAndPage() {
+        final var builder = TransactionStore.builder(0);
+        for (int day = 99; day >= 0; day--) {
+            builder.add("sig", day, BASE_DATE_TIME.plusDays(day), BigDecimal.valueOf(day));
+        }
+        final var store = builder.build();
+
+        final var result = store.findByUserSignature("sig", BASE_DATE_TIME.plusDays(10), BASE_DATE_TIME.plusDays(20), 5, 3);
+
+        assertEquals(List.of("15", "16", "17"), result.stream().map(Transaction::id).toList());
+    }
+
+    @Test
+    void shouldReturnRemainingTransactionsWhenPageExceedsRange() {
+        final var builder = TransactionStore.builder(10);
+        for (int day = 0; day < 10; day++) {
+            builder.add("sig", day, BASE_DATE_TIME.plusDays(day), BigDecimal.ONE);
+        }
+        final var store = builder.build();
+
+        assertEquals(2, store.findByUserSignature("sig", BASE_DATE_TIME.plusDays(8), null, 0, 100).size());
+        assertTrue(store.findByUserSignature("sig", null, BASE_DATE_TIME, 0, 100).isEmpty());
+        assertTrue(store.findByUserSignature("sig", null, null, 20, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void shouldReturnEmptyListForUnknownSignature() {
+        final var store = TransactionStore.builder(1)
+                .add("sig", 1, BASE_DATE_TIME, BigDecimal.ONE)
+                .build();
+
+        assertTrue(store.findByUserSignature("unknown", null, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldRejectAmountsThatDoNotFitIntoUnscaledLong() {
+        final var builder = TransactionStore.builder(1);
+        final var amount = new BigDecimal("123456789012345678901234567890");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add("sig", 1, BASE_DATE_TIME, amount));
+    }
+}
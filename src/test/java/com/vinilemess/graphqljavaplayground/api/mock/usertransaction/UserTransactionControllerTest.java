@@ -0,0 +1,97 @@
+package com.vinilemess.graphqljavaplayground.api.mock.usertransaction;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+
+@SpringBootTest(properties = {
+        "transaction-store.size=1000",
+        "transaction-store.signatures=10",
+        "transaction-store.simulated-latency=0s"
+})
+@AutoConfigureGraphQlTester
+class UserTransactionControllerTest {
+
+    private static final String FETCH_TRANSACTIONS_QUERY = """
+            query fetchTransactions {
+              userTransactionByUserSignature(userSignature: "user-signature-1") {
+                transactions(%s) {
+                  amount
+                  dateTime
+                }
+              }
+            }
+            """;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Test
+    void whenOffsetAndLimitAreNullShouldUseSchemaDefaults() {
+        graphQlTester.document(FETCH_TRANSACTIONS_QUERY.formatted("offset: null, limit: null"))
+                .execute()
+                .path("userTransactionByUserSignature.transactions")
+                .entityList(Object.class)
+                .hasSize(100);
+    }
+
+    @Test
+    void shouldReturnPageOfTransactionsWithinRange() {
+        graphQlTester.document(FETCH_TRANSACTIONS_QUERY.formatted("from: \"2049-10-05T00:00:00\", offset: 1, limit: 2"))
+                .execute()
+                .path("userTransactionByUserSignature.transactions")
+                .entityList(Object.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void whenLimitIsNegativeShouldReturnBadRequestError() {
+        graphQlTester.document(FETCH_TRANSACTIONS_QUERY.formatted("limit: -1"))
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.BAD_REQUEST
+                        && "Argument limit must not be negative, but was -1".equals(error.getMessage()))
+                .verify()
+                .path("userTransactionByUserSignature.transactions")
+                .valueIsNull();
+    }
+
+    @Test
+    void whenFromIsMalformedShouldReturnBadRequestError() {
+        graphQlTester.document(FETCH_TRANSACTIONS_QUERY.formatted("from: \"yesterday\""))
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.BAD_REQUEST
+                        && error.getMessage().startsWith("Argument from must be an ISO-8601 local date time"))
+                .verify();
+    }
+
+    @Test
+    void whenUserIsRequestedShouldReturnNotFoundErrorNextToTransactions() {
+        graphQlTester.document("""
+                        query fetchUser {
+                          userTransactionByUserSignature(userSignature: "user-signature-1") {
+                            user {
+                              name
+                            }
+                            transactions(limit: 1) {
+                              amount
+                            }
+                          }
+                        }
+                        """)
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.NOT_FOUND
+                        && "No user found for signature user-signature-1".equals(error.getMessage()))
+                .verify()
+                .path("userTransactionByUserSignature.user")
+                .valueIsNull()
+                .path("userTransactionByUserSignature.transactions")
+                .entityList(Object.class)
+                .hasSize(1);
+    }
+}
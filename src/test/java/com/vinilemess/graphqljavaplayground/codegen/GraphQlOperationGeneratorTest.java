@@ -0,0 +1,289 @@
+package com.vinilemess.graphqljavaplayground.codegen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQlOperationGeneratorTest {
+
+    private static final String SCHEMA = """
+            scalar DateTime
+
+            type Query {
+              user(id: ID!): User
+              node(id: ID!): Node
+              matrix: [[Int!]]!
+              tree: Tree
+              search(text: String!): [SearchResult]
+              now: DateTime
+            }
+
+            type Mutation {
+              rename(id: ID!, name: String!): User
+            }
+
+            type Subscription {
+              ticks: Int
+            }
+
+            interface Node {
+              id: ID!
+            }
+
+            type User implements Node {
+              id: ID!
+              name: String
+              score: Float
+              active: Boolean
+              friends(first: Int): [User]
+            }
+
+            type Tree {
+              value: Int
+              tree: Tree
+            }
+
+            union SearchResult = User | Tree
+            """;
+
+    @TempDir
+    private Path directory;
+
+    private Path outputDirectory;
+    private GraphQlOperationGenerator generator;
+
+    @BeforeEach
+    void setup() throws IOException {
+        final Path schemaDirectory = Files.createDirectories(directory.resolve("schema"));
+        Files.writeString(schemaDirectory.resolve("schema.graphqls"), SCHEMA);
+        outputDirectory = Files.createDirectories(directory.resolve("output"));
+        generator = new GraphQlOperationGenerator(GraphQlOperationGenerator.loadSchema(schemaDirectory), "com.example.operations");
+    }
+
+    @Test
+    void shouldGenerateOperationWithVariablesBuilderAndDecoder() throws IOException {
+        final List<String> errors = generate("""
+                query fetchUser($id: ID!, $limit: Int = 10) {
+                  user(id: $id) {
+                    name
+                    score
+                    active
+                    friends(first: $limit) {
+                      id
+                    }
+                  }
+                }
+                """);
+
+        assertEquals(List.of(), errors);
+        final String source = generatedSource("FetchUserQuery");
+        assertTrue(source.startsWith("package com.example.operations;"));
+        assertTrue(source.contains("public final class FetchUserQuery implements GraphQlOperation<FetchUserQuery.Data> {"));
+        assertTrue(source.contains("public static final String OPERATION_NAME = \"fetchUser\";"));
+        assertTrue(source.contains("public Builder id(final String id) {"));
+        assertTrue(source.contains("public Builder limit(final Integer limit) {"));
+        assertTrue(source.contains("throw new IllegalStateException(\"Variable id is required\");"));
+        assertFalse(source.contains("Variable limit is required"));
+        assertTrue(source.contains("public record Data(User user) {"));
+        assertTrue(source.contains("public record User(String name, Double score, Boolean active, List<Friends> friends) {"));
+        assertTrue(source.contains("case \"score\" -> score = GraphQlJsonReaders.readDouble(jsonParser);"));
+    }
+
+    @Test
+    void whenFieldsAreAliasedShouldNameComponentsAfterAliases() throws IOException {
+        final List<String> errors = generate("""
+                query compareUsers {
+                  first: user(id: "1") {
+                    displayName: name
+                  }
+                  second: user(id: "2") {
+                    name
+                  }
+                }
+                """);
+
+        assertEquals(List.of(), errors);
+        final String source = generatedSource("CompareUsersQuery");
+        assertTrue(source.contains("public record Data(First first, Second second) {"));
+        assertTrue(source.contains("case \"first\" -> first = First.read(jsonParser);"));
+        assertTrue(source.contains("public record First(String displayName) {"));
+        assertTrue(source.contains("case \"displayName\" -> displayName = GraphQlJsonReaders.readString(jsonParser);"));
+        assertTrue(source.contains("public record Second(String name) {"));
+    }
+
+    @Test
+    void whenFragmentsAreOnSelectedTypeShouldFlattenTheirFields() throws IOException {
+        final List<String> errors = generate("""
+                query fetchUserWithFragments {
+                  user(id: "1") {
+                    id
+                    ...userName
+                    ... on User {
+                      score
+                      name
+                    }
+                  }
+                }
+
+                fragment userName on User {
+                  name
+                }
+                """);
+
+        assertEquals(List.of(), errors);
+        assertTrue(generatedSource("FetchUserWithFragmentsQuery").contains("public record User(String id, String name, Double score) {"));
+    }
+
+    @Test
+    void whenListsAreNestedShouldReadEachLevelAsList() throws IOException {
+        final List<String> errors = generate("""
+                query fetchMatrix {
+                  matrix
+                  user(id: "1") {
+                    friends {
+                      name
+                    }
+                  }
+                }
+                """);
+
+        assertEquals(List.of(), errors);
+        final String source = generatedSource("FetchMatrixQuery");
+        assertTrue(source.contains("public record Data(List<List<Integer>> matrix, User user) {"));
+        assertTrue(source.contains("case \"matrix\" -> matrix = GraphQlJsonReaders.readList(jsonParser, "
+                + "listParser1 -> GraphQlJsonReaders.readList(listParser1, GraphQlJsonReaders::readInteger));"));
+        assertTrue(source.contains("public record User(List<Friends> friends) {"));
+        assertTrue(source.contains("case \"friends\" -> friends = GraphQlJsonReaders.readList(jsonParser, Friends::read);"));
+    }
+
+    @Test
+    void whenNamesCollideShouldRenameRecordsAndComponents() throws IOException {
+        final List<String> errors = generate("""
+                query tree {
+                  data: tree {
+                    tree {
+                      tree {
+                        class: value
+                        variables: value
+                      }
+                    }
+                  }
+                }
+                """);
+
+        assertEquals(List.of(), errors);
+        final String source = generatedSource("TreeQuery");
+        assertTrue(source.contains("public record Data(DataValue data) {"));
+        assertTrue(source.contains("public record DataValue(Tree tree) {"));
+        assertTrue(source.contains("public record Tree(TreeValue tree) {"));
+        assertTrue(source.contains("public record TreeValue(Integer class_, Integer variables_) {"));
+        assertTrue(source.contains("case \"class\" -> class_ = GraphQlJsonReaders.readInteger(jsonParser);"));
+    }
+
+    @Test
+    void whenMutationIsNamedShouldGenerateMutationClass() throws IOException {
+        final List<String> errors = generate("""
+                mutation renameUser($id: ID!, $name: String!) {
+                  rename(id: $id, name: $name) {
+                    name
+                  }
+                }
+                """);
+
+        assertEquals(List.of(), errors);
+        assertTrue(generatedSource("RenameUserMutation").contains("public record Data(Rename rename) {"));
+    }
+
+    @Test
+    void whenDocumentDoesNotValidateShouldReportErrorsAndGenerateNothing() throws IOException {
+        final List<String> errors = generate("""
+                query fetchUser {
+                  user(id: "1") {
+                    unknownField
+                  }
+                }
+                """);
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.getFirst().contains("unknownField"), errors::toString);
+        assertFalse(Files.exists(outputDirectory.resolve("FetchUserQuery.java")));
+    }
+
+    @Test
+    void whenDocumentHasInvalidSyntaxShouldReportError() throws IOException {
+        final List<String> errors = generate("query fetchUser { user(id: ");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.getFirst().startsWith(directory.resolve("operation.graphql").toString()), errors::toString);
+    }
+
+    @Test
+    void whenOperationIsAnonymousShouldReportUnsupportedDocument() throws IOException {
+        final List<String> errors = generate("""
+                {
+                  user(id: "1") {
+                    name
+                  }
+                }
+                """);
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.getFirst().endsWith("Operations must be named"), errors::toString);
+    }
+
+    @Test
+    void whenConstructIsNotSupportedShouldReportItAndKeepGeneratingOtherOperations() throws IOException {
+        final List<String> errors = generate("""
+                subscription ticks {
+                  ticks
+                }
+
+                query fetchNow {
+                  now
+                }
+
+                query fetchNode {
+                  node(id: "1") {
+                    ... on User {
+                      name
+                    }
+                  }
+                }
+
+                query searchAll {
+                  search(text: "a") {
+                    __typename
+                  }
+                }
+
+                query fetchName {
+                  user(id: "1") {
+                    name
+                  }
+                }
+                """);
+
+        assertEquals(4, errors.size(), errors::toString);
+        assertTrue(errors.get(0).endsWith("SUBSCRIPTION operations are not supported: ticks"), errors::toString);
+        assertTrue(errors.get(1).endsWith("Custom scalar DateTime is not supported"), errors::toString);
+        assertTrue(errors.get(2).endsWith("Fragments on User within a selection on Node are not supported"), errors::toString);
+        assertTrue(errors.get(3).endsWith("Fields of type SearchResult are not supported: search"), errors::toString);
+        assertTrue(Files.exists(outputDirectory.resolve("FetchNameQuery.java")));
+    }
+
+    private List<String> generate(final String document) throws IOException {
+        final Path operationFile = Files.writeString(directory.resolve("operation.graphql"), document);
+        return generator.generate(operationFile, outputDirectory);
+    }
+
+    private String generatedSource(final String className) throws IOException {
+        return Files.readString(outputDirectory.resolve(className + ".java"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import com.vinilemess.graphqljavaplayground.graphql.client.EndpointBalancer.Endpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointBalancerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void setup() {
+        clock.set(Duration.ofHours(1).toNanos());
+    }
+
+    @Test
+    void shouldSelectEndpointWithFewerOutstandingRequests() {
+        final var balancer = balancer("http://first", "http://second");
+
+        final var firstSelected = balancer.select();
+        final var secondSelected = balancer.select();
+
+        assertNotSame(firstSelected, secondSelected);
+        balancer.release(firstSelected);
+        assertSame(firstSelected, balancer.select());
+    }
+
+    @Test
+    void shouldSelectEndpointWithLowerLatency() {
+        final var balancer = balancer("http://slow", "http://fast");
+        final var slow = balancer.endpoints().get(0);
+        final var fast = balancer.endpoints().get(1);
+
+        complete(balancer, slow, Duration.ofMillis(50), false);
+        complete(balancer, fast, Duration.ofMillis(5), false);
+
+        assertSame(fast, balancer.select());
+    }
+
+    @Test
+    void shouldEjectFailingEndpointAndReadmitItWithSlowStart() {
+        final var balancer = balancer("http://failing", "http://healthy");
+        final var failing = balancer.endpoints().get(0);
+        final var healthy = balancer.endpoints().get(1);
+        for (int request = 0; request < EndpointBalancer.MIN_REQUESTS_BEFORE_EJECTION; request++) {
+            complete(balancer, failing, Duration.ofMillis(5), true);
+            complete(balancer, healthy, Duration.ofMillis(5), false);
+        }
+
+        assertSelectedRepeatedly(balancer, healthy);
+
+        clock.addAndGet(EndpointBalancer.BASE_EJECTION_TIME.toNanos());
+        assertSelectedRepeatedly(balancer, healthy);
+
+        clock.addAndGet(EndpointBalancer.SLOW_START.toNanos());
+        assertSame(failing, balancer.select());
+    }
+
+    @Test
+    void shouldEjectLatencyOutlier() {
+        final var balancer = balancer("http://slow", "http://fast", "http://faster");
+        final var slow = balancer.endpoints().get(0);
+        for (int request = 0; request < EndpointBalancer.MIN_REQUESTS_BEFORE_EJECTION; request++) {
+            complete(balancer, balancer.endpoints().get(1), Duration.ofMillis(10), false);
+            complete(balancer, balancer.endpoints().get(2), Duration.ofMillis(8), false);
+            complete(balancer, slow, Duration.ofMillis(100), false);
+        }
+
+        for (int request = 0; request < 20; request++) {
+            final var selected = balancer.select();
+            assertNotSame(slow, selected);
+            balancer.release(selected);
+        }
+    }
+
+    @Test
+    void shouldNotEjectLastAvailableEndpoint() {
+        final var balancer = balancer("http://only");
+        final var only = balancer.endpoints().getFirst();
+        for (int request = 0; request < 2 * EndpointBalancer.MIN_REQUESTS_BEFORE_EJECTION; request++) {
+            complete(balancer, only, Duration.ofMillis(5), true);
+        }
+
+        assertSame(only, balancer.select());
+    }
+
+    @Test
+    void shouldResolveRequestUriAgainstEndpoint() {
+        final var endpoint = balancer("http://localhost:8080/api/").endpoints().getFirst();
+
+        final var resolved = endpoint.resolve(URI.create(LoadBalancingInterceptor.BASE_URL + "/graphql?query=%7B%20hello%20%7D"));
+
+        assertEquals(URI.create("http://localhost:8080/api/graphql?query=%7B%20hello%20%7D"), resolved);
+    }
+
+    @Test
+    void shouldRequireAtLeastOneEndpoint() {
+        assertThrows(IllegalArgumentException.class, () -> balancer());
+    }
+
+    private EndpointBalancer balancer(final String... urls) {
+        return new EndpointBalancer(List.of(urls), clock::get, bound -> 0);
+    }
+
+    private void complete(final EndpointBalancer balancer, final Endpoint endpoint, final Duration latency, final boolean failed) {
+        final long startNanos = balancer.nanoTime();
+        clock.addAndGet(latency.toNanos());
+        balancer.complete(endpoint, startNanos, failed);
+    }
+
+    private static void assertSelectedRepeatedly(final EndpointBalancer balancer, final Endpoint expected) {
+        for (int request = 0; request < 20; request++) {
+            final var selected = balancer.select();
+            assertSame(expected, selected);
+            balancer.release(selected);
+        }
+    }
+}
@@ -4,16 +4,26 @@ import com.github.tomakehurst.wiremock.client.MappingBuilder;
 import com.vinilemess.graphqljavaplayground.api.mock.usertransaction.Transaction;
 import com.vinilemess.graphqljavaplayground.api.mock.usertransaction.User;
 import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlError;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlIncrementalPatch;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlResult;
+import com.vinilemess.graphqljavaplayground.graphql.operations.FetchUserTransactionsQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpServerErrorException;
 import org.wiremock.spring.EnableWireMock;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static java.math.BigDecimal.TEN;
@@ -90,6 +100,34 @@ class GraphQlClientTest {
               }
             }
             """;
+    private static final String FETCH_USER_TRANSACTIONS_DEFERRED_QUERY = """
+            query fetchUserTransactions {
+              userTransactionByUserSignature(userSignature: $userSignature) {
+                userSignature
+                user {
+                  name
+                }
+                ... @defer {
+                  transactions {
+                    amount
+                    dateTime
+                  }
+                }
+              }
+            }
+            """;
+    private static final String USER_TRANSACTIONS_MULTIPART = """
+            \r
+            ---\r
+            Content-Type: application/json; charset=utf-8\r
+            \r
+            {"data":{"userTransactionByUserSignature":{"userSignature":"userSig","user":{"name":"John Doe"}}},"hasNext":true}\r
+            ---\r
+            Content-Type: application/json; charset=utf-8\r
+            \r
+            {"incremental":[{"path":["userTransactionByUserSignature"],"data":{"transactions":[{"amount":"10","dateTime":"2049-10-05T00:00:00"}]}}],"hasNext":false}\r
+            -----\r
+            """;
     @Value("${wiremock.server.baseUrl}")
     private String wiremockUrl;
 
@@ -243,6 +281,264 @@ class GraphQlClientTest {
         assertEquals("errors :D", exception.getMessage());
     }
 
+    @Test
+    void shouldHandOutInitialResultAndDeferredPatchesOfIncrementalResponse() {
+        stubFor(graphqlRequest()
+                .withHeader("Accept", containing("multipart/mixed"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "multipart/mixed; boundary=\"-\"; deferSpec=20220824")
+                        .withBody(USER_TRANSACTIONS_MULTIPART))
+        );
+
+        var expectedUserTransactions = new UserTransactionsTestDto(
+                "userSig",
+                new User(null, "John Doe"),
+                List.of(new Transaction(null, LocalDateTime.of(2049, 10, 5, 0, 0, 0), TEN))
+        );
+        var initialResult = new AtomicReference<GraphQlResult>();
+        var patches = new ArrayList<GraphQlIncrementalPatch>();
+
+        var result = graphQlClient.query(FETCH_USER_TRANSACTIONS_DEFERRED_QUERY, Map.of("userSignature", "userSig"))
+                .executeIncrementally()
+                .doOnInitialResult(initialResult::set)
+                .doOnPatch(patches::add)
+                .getResult();
+
+        assertSame(initialResult.get(), result);
+        assertEquals(1, patches.size());
+        assertEquals(List.of("userTransactionByUserSignature"), patches.getFirst().path());
+        assertEquals(expectedUserTransactions, result.as(UserTransactionsTestDto.class));
+        assertTrue(result.errors().isEmpty());
+    }
+
+    @Test
+    void shouldHandleNonIncrementalResponseWhenExecutingIncrementally() {
+        stubFor(graphqlRequest().willReturn(okJson(USER_TRANSACTIONS_JSON)));
+
+        var expectedUserTransactions = new UserTransactionsTestDto(
+                "userSig",
+                new User(null, "John Doe"),
+                List.of(new Transaction(null, LocalDateTime.of(2049, 10, 5, 0, 0, 0), TEN))
+        );
+        var patches = new ArrayList<GraphQlIncrementalPatch>();
+
+        var result = graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of("userSignature", "userSig"))
+                .executeIncrementally()
+                .doOnPatch(patches::add)
+                .getResult();
+
+        assertTrue(patches.isEmpty());
+        assertEquals(expectedUserTransactions, result.as(UserTransactionsTestDto.class));
+    }
+
+    @Test
+    void whenIncrementalResponseReturns5xxWithoutHandlerShouldThrowServerErrorException() {
+        stubFor(graphqlRequest().willReturn(aResponse().withStatus(503)));
+
+        final var exception = assertThrows(HttpServerErrorException.class, () ->
+                graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of("userSignature", "userSig"))
+                        .executeIncrementally()
+                        .getResult()
+        );
+
+        assertEquals(503, exception.getStatusCode().value());
+    }
+
+    @Test
+    void whenIncrementalResponseReturns4xxShouldReadBodyIfHandlerDoesNotThrow() {
+        stubFor(graphqlRequest().willReturn(aResponse()
+                .withStatus(400)
+                .withHeader("Content-Type", "application/json")
+                .withBody("""
+                        {"errors": [{"message": "Invalid Syntax"}]}
+                        """)));
+
+        final var handledStatus = new AtomicReference<Integer>();
+
+        final var result = graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of("userSignature", "userSig"))
+                .executeIncrementally()
+                .onStatus4xx((httpRequest, clientHttpResponse) -> {
+                    try {
+                        handledStatus.set(clientHttpResponse.getStatusCode().value());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .getResult();
+
+        assertEquals(400, handledStatus.get());
+        assertEquals("Invalid Syntax", result.errors().iterator().next().message());
+    }
+
+    @Test
+    void whenRequestIsSentWithHttpGetShouldRevalidateCachedResultWithETag() {
+        stubFor(get(urlPathEqualTo("/graphql"))
+                .withQueryParam("query", matching("^(?!\\s*$)[\\s\\S]+"))
+                .withQueryParam("operationName", equalTo("fetchUserTransactions"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(okJson(USER_TRANSACTIONS_JSON).withHeader("ETag", "\"v1\""))
+        );
+        stubFor(get(urlPathEqualTo("/graphql"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304).withHeader("ETag", "\"v1\""))
+        );
+
+        var expectedUserTransactions = new UserTransactionsTestDto(
+                "userSig",
+                new User(null, "John Doe"),
+                List.of(new Transaction(null, LocalDateTime.of(2049, 10, 5, 0, 0, 0), TEN))
+        );
+
+        var firstResult = graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of("userSignature", "userSig"))
+                .useHttpGet()
+                .execute()
+                .getResult();
+        var revalidatedResult = graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of("userSignature", "userSig"))
+                .useHttpGet()
+                .execute()
+                .getResult();
+
+        assertEquals(expectedUserTransactions, firstResult.as(UserTransactionsTestDto.class));
+        assertEquals(expectedUserTransactions, revalidatedResult.as(UserTransactionsTestDto.class));
+        verify(1, getRequestedFor(urlPathEqualTo("/graphql")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    void whenTwoRequestsAreAnsweredWithNotModifiedShouldDecodeSeparateResults() {
+        stubFor(get(urlPathEqualTo("/graphql"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(okJson(USER_TRANSACTIONS_JSON).withHeader("ETag", "\"v1\""))
+        );
+        stubFor(get(urlPathEqualTo("/graphql"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304).withHeader("ETag", "\"v1\""))
+        );
+        graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of("userSignature", "userSig"))
+                .useHttpGet()
+                .execute()
+                .getResult();
+
+        var firstRevalidatedResult = graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of("userSignature", "userSig"))
+                .useHttpGet()
+                .execute()
+                .doOnError(graphQlResult -> graphQlResult.data().clear())
+                .getResult();
+        var secondRevalidatedResult = graphQlClient.query(FETCH_USER_TRANSACTIONS_QUERY, Map.of("userSignature", "userSig"))
+                .useHttpGet()
+                .execute()
+                .getResult();
+
+        assertNotSame(firstRevalidatedResult, secondRevalidatedResult);
+        assertTrue(firstRevalidatedResult.data().isEmpty());
+        assertTrue(secondRevalidatedResult.data().containsKey("userTransactionByUserSignature"));
+        verify(2, getRequestedFor(urlPathEqualTo("/graphql")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    void whenGeneratedOperationIsExecutedShouldSendVariablesAndDecodeData() {
+        stubFor(graphqlRequest()
+                .withRequestBody(matchingJsonPath("$.operationName", equalTo("fetchUserTransactions")))
+                .withRequestBody(matchingJsonPath("$.variables.userSignature", equalTo("userSig")))
+                .withRequestBody(matchingJsonPath("$.variables.limit", equalTo("10")))
+                .willReturn(okJson(USER_TRANSACTIONS_WITH_ERRORS))
+        );
+        var reportedErrors = new AtomicReference<Collection<GraphQlError>>();
+
+        var result = graphQlClient.operation(FetchUserTransactionsQuery.builder()
+                        .userSignature("userSig")
+                        .limit(10)
+                        .build())
+                .execute()
+                .doOnError(operationResult -> reportedErrors.set(operationResult.errors()))
+                .getResult();
+
+        var userTransaction = result.data().userTransactionByUserSignature();
+        assertEquals("userSig", userTransaction.userSignature());
+        assertNull(userTransaction.user());
+        assertEquals(1, userTransaction.transactions().size());
+        assertEquals("10", userTransaction.transactions().getFirst().amount());
+        assertEquals("2049-10-05T00:00", userTransaction.transactions().getFirst().dateTime());
+        assertEquals("INTERNAL_ERROR for idxyz", result.errors().iterator().next().message());
+        assertSame(result.errors(), reportedErrors.get());
+    }
+
+    @Test
+    void whenGeneratedOperationIsMissingRequiredVariableShouldFailToBuild() {
+        assertThrows(IllegalStateException.class, () -> FetchUserTransactionsQuery.builder().limit(10).build());
+    }
+
+    @Test
+    void whenQueryIsProjectedFromResultTypeShouldSelectOnlyItsFields() {
+        stubFor(graphqlRequest()
+                .withRequestBody(matchingJsonPath("$.operationName", equalTo("userTransactionByUserSignature")))
+                .withRequestBody(matchingJsonPath("$.query", equalTo(
+                        "query userTransactionByUserSignature { userTransactionByUserSignature(userSignature: \"userSig\") "
+                                + "{ userSignature transactions { dateTime amount } } }")))
+                .willReturn(okJson(USER_TRANSACTIONS_JSON))
+        );
+
+        var result = graphQlClient.queryFor(UserTransactionsWithoutUserTestDto.class, Map.of("userSignature", "userSig"))
+                .execute()
+                .getResult()
+                .as(UserTransactionsWithoutUserTestDto.class);
+
+        assertEquals(new UserTransactionsWithoutUserTestDto(
+                "userSig",
+                List.of(new TransactionTestDto(null, LocalDateTime.of(2049, 10, 5, 0, 0, 0), TEN))
+        ), result);
+    }
+
+    @Test
+    void whenQueryIsProjectedFromDomainTypesShouldSelectOnlyFieldsOfSchema() {
+        stubFor(graphqlRequest()
+                .withRequestBody(matchingJsonPath("$.query", equalTo(
+                        "query userTransactionByUserSignature { userTransactionByUserSignature(userSignature: \"userSig\") "
+                                + "{ userSignature user { name } transactions { dateTime amount } } }")))
+                .willReturn(okJson(USER_TRANSACTIONS_JSON))
+        );
+
+        var result = graphQlClient.queryFor(UserTransactionsTestDto.class, Map.of("userSignature", "userSig"))
+                .execute()
+                .getResult()
+                .as(UserTransactionsTestDto.class);
+
+        assertEquals(new UserTransactionsTestDto(
+                "userSig",
+                new User(null, "John Doe"),
+                List.of(new Transaction(null, LocalDateTime.of(2049, 10, 5, 0, 0, 0), TEN))
+        ), result);
+    }
+
+    @Test
+    void whenRootFieldIsNotInSchemaShouldFailToProjectQuery() {
+        assertThrows(IllegalArgumentException.class, () -> graphQlClient.queryFor(UnknownRootFieldTestDto.class, Map.of()));
+    }
+
+    @Test
+    void whenComponentDoesNotMatchSchemaFieldShouldFailToProjectQuery() {
+        assertThrows(IllegalArgumentException.class, () -> graphQlClient.queryFor(LeafUserTestDto.class, Map.of()));
+    }
+
+    @Test
+    void whenResultTypeIsNotAnnotatedShouldFailToProjectQuery() {
+        assertThrows(IllegalArgumentException.class, () -> graphQlClient.queryFor(User.class, Map.of()));
+    }
+
+    @GraphQlAttributePath("userTransactionByUserSignature")
+    private record UserTransactionsWithoutUserTestDto(String userSignature, List<TransactionTestDto> transactions) {
+    }
+
+    private record TransactionTestDto(@GraphQlIgnore String id, LocalDateTime dateTime, BigDecimal amount) {
+    }
+
+    @GraphQlAttributePath("transactionsByUserSignature")
+    private record UnknownRootFieldTestDto(String userSignature) {
+    }
+
+    @GraphQlAttributePath("userTransactionByUserSignature")
+    private record LeafUserTestDto(String user) {
+    }
+
     @GraphQlAttributePath("userTransactionByUserSignature")
     private record UserTransactionsTestDto(String userSignature, User user, List<Transaction> transactions) {
     }
@@ -0,0 +1,114 @@
+package com.vinilemess.graphqljavaplayground.graphql.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.vinilemess.graphqljavaplayground.graphql.client.result.GraphQlResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.client.HttpServerErrorException;
+import org.wiremock.spring.ConfigureWireMock;
+import org.wiremock.spring.EnableWireMock;
+import org.wiremock.spring.InjectWireMock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends requests through a {@link GraphQlClient} balancing over two WireMock servers. Apart from the first test,
+ * the balancer's clock stands still, so every request has the same latency and ties go to the first server.
+ */
+@SpringBootTest
+@EnableWireMock({
+        @ConfigureWireMock(name = "first", baseUrlProperties = "first-endpoint.url"),
+        @ConfigureWireMock(name = "second", baseUrlProperties = "second-endpoint.url")
+})
+class LoadBalancingInterceptorTest {
+
+    private static final String HELLO_QUERY = "query hello { hello }";
+    private static final String HELLO_JSON = """
+            {
+              "data": {
+                "hello": "world"
+              }
+            }
+            """;
+
+    @InjectWireMock("first")
+    private WireMockServer first;
+
+    @InjectWireMock("second")
+    private WireMockServer second;
+
+    @BeforeEach
+    void setup() {
+        first.resetAll();
+        second.resetAll();
+    }
+
+    @Test
+    void shouldRewriteRequestsToGraphQlPathOfEachEndpoint() {
+        first.stubFor(graphqlRequest().willReturn(okJson(HELLO_JSON)));
+        second.stubFor(graphqlRequest().willReturn(okJson(HELLO_JSON)));
+        final var graphQlClient = GraphQlClient.create(List.of(first.baseUrl(), second.baseUrl()));
+
+        // the first request goes to the first endpoint, the second to the one that has not measured a latency yet
+        query(graphQlClient);
+        query(graphQlClient);
+
+        first.verify(1, postRequestedFor(urlEqualTo("/graphql")).withRequestBody(matchingJsonPath("$.query", equalTo(HELLO_QUERY))));
+        second.verify(1, postRequestedFor(urlEqualTo("/graphql")).withRequestBody(matchingJsonPath("$.query", equalTo(HELLO_QUERY))));
+    }
+
+    @Test
+    void whenResponsesAreClosedShouldReleaseTheirEndpoint() {
+        first.stubFor(graphqlRequest().willReturn(okJson(HELLO_JSON)));
+        second.stubFor(graphqlRequest().willReturn(okJson(HELLO_JSON)));
+        final var graphQlClient = GraphQlClient.create(frozenClockBalancer());
+
+        // a request still outstanding on the first endpoint would send the next one to the second
+        for (int request = 0; request < 5; request++) {
+            query(graphQlClient);
+        }
+
+        first.verify(5, postRequestedFor(urlEqualTo("/graphql")));
+        second.verify(0, postRequestedFor(urlEqualTo("/graphql")));
+    }
+
+    @Test
+    void whenEndpointKeepsFailingWithServerErrorsShouldEjectIt() {
+        first.stubFor(graphqlRequest().willReturn(aResponse().withStatus(503)));
+        second.stubFor(graphqlRequest().willReturn(okJson(HELLO_JSON)));
+        final var graphQlClient = GraphQlClient.create(frozenClockBalancer());
+        for (int request = 0; request < EndpointBalancer.MIN_REQUESTS_BEFORE_EJECTION; request++) {
+            assertThrows(HttpServerErrorException.class, () -> query(graphQlClient));
+        }
+
+        for (int request = 0; request < 5; request++) {
+            assertEquals(Map.of("hello", "world"), query(graphQlClient).data());
+        }
+
+        first.verify(EndpointBalancer.MIN_REQUESTS_BEFORE_EJECTION, postRequestedFor(urlEqualTo("/graphql")));
+        second.verify(5, postRequestedFor(urlEqualTo("/graphql")));
+    }
+
+    private EndpointBalancer frozenClockBalancer() {
+        final long nowNanos = Duration.ofHours(1).toNanos();
+        return new EndpointBalancer(List.of(first.baseUrl(), second.baseUrl()), () -> nowNanos, bound -> 0);
+    }
+
+    private static GraphQlResult query(final GraphQlClient graphQlClient) {
+        return graphQlClient.query(HELLO_QUERY, Map.of())
+                .execute()
+                .getResult();
+    }
+
+    private static MappingBuilder graphqlRequest() {
+        return post("/graphql")
+                .withRequestBody(matchingJsonPath("$.query", matching("^(?!\\s*$).+")));
+    }
+}
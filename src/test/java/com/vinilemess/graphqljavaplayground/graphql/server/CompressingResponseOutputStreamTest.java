@@ -0,0 +1,154 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import com.vinilemess.graphqljavaplayground.graphql.server.CompressingResponseOutputStream.ContentEncoding;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressingResponseOutputStreamTest {
+
+    private static final int MIN_COMPRESSED_SIZE = 64;
+
+    @Test
+    void whenBodyIsBelowThresholdShouldWriteItUncompressedWithContentLength() throws IOException {
+        final var response = new MockHttpServletResponse();
+        final byte[] body = body(MIN_COMPRESSED_SIZE - 1);
+
+        write(response, ContentEncoding.GZIP, body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body.length, response.getContentLength());
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void whenBodyIsExactlyThresholdShouldWriteItUncompressed() throws IOException {
+        final var response = new MockHttpServletResponse();
+        final byte[] body = body(MIN_COMPRESSED_SIZE);
+
+        write(response, ContentEncoding.GZIP, body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void whenBodyIsBelowThresholdShouldHoldItBackUntilClosed() throws IOException {
+        final var response = new MockHttpServletResponse();
+        final var outputStream = new CompressingResponseOutputStream(response, ContentEncoding.GZIP, MIN_COMPRESSED_SIZE);
+
+        outputStream.write(body(MIN_COMPRESSED_SIZE - 1));
+        outputStream.flush();
+
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertFalse(response.isCommitted());
+    }
+
+    @Test
+    void whenBodyExceedsThresholdShouldGzipItWithoutContentLength() throws IOException {
+        final var response = new MockHttpServletResponse();
+        final byte[] body = body(MIN_COMPRESSED_SIZE * 100);
+
+        write(response, ContentEncoding.GZIP, body);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(body, decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void whenBodyExceedsThresholdShouldDeflateIt() throws IOException {
+        final var response = new MockHttpServletResponse();
+        final byte[] body = body(MIN_COMPRESSED_SIZE * 100);
+
+        write(response, ContentEncoding.DEFLATE, body);
+
+        assertEquals("deflate", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(body, decode(new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void whenBodyIsWrittenInChunksShouldCompressHeldBackBytesFirst() throws IOException {
+        final var response = new MockHttpServletResponse();
+        final byte[] body = body(MIN_COMPRESSED_SIZE * 3);
+
+        try (var outputStream = new CompressingResponseOutputStream(response, ContentEncoding.GZIP, MIN_COMPRESSED_SIZE)) {
+            for (final byte b : body) {
+                outputStream.write(b);
+            }
+        }
+
+        assertArrayEquals(body, decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void whenNoEncodingIsNegotiatedShouldWriteLargeBodyUncompressed() throws IOException {
+        final var response = new MockHttpServletResponse();
+        final byte[] body = body(MIN_COMPRESSED_SIZE * 100);
+
+        write(response, null, body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void shouldNegotiateContentEncodingFromAcceptEncodingHeader() {
+        assertNull(ContentEncoding.negotiate(null));
+        assertNull(ContentEncoding.negotiate(" "));
+        assertNull(ContentEncoding.negotiate("br"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("gzip, deflate, br"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("deflate, gzip"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0.5, deflate;q=0.8"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("x-gzip"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("GZIP"));
+    }
+
+    @Test
+    void whenCodingHasZeroQualityShouldNotNegotiateIt() {
+        assertNull(ContentEncoding.negotiate("gzip;q=0"));
+        assertNull(ContentEncoding.negotiate("gzip;q=0, deflate;q=0"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0, deflate"));
+        assertNull(ContentEncoding.negotiate("gzip;q=invalid"));
+    }
+
+    @Test
+    void whenWildcardIsAcceptedShouldApplyItToCodingsNotListed() {
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("*"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0, *"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("*;q=0.5, gzip;q=0.2"));
+        assertNull(ContentEncoding.negotiate("*;q=0"));
+    }
+
+    private static void write(final MockHttpServletResponse response,
+                              final ContentEncoding contentEncoding,
+                              final byte[] body) throws IOException {
+        try (var outputStream = new CompressingResponseOutputStream(response, contentEncoding, MIN_COMPRESSED_SIZE)) {
+            outputStream.write(body);
+        }
+    }
+
+    private static byte[] body(final int size) {
+        final var body = new StringBuilder(size);
+        while (body.length() < size) {
+            body.append("{\"amount\":\"10\"},");
+        }
+        return body.substring(0, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] decode(final InputStream inputStream) throws IOException {
+        try (inputStream) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import graphql.ExecutionInput;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultGraphQlRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "transaction-store.size=1000",
+        "transaction-store.signatures=10",
+        "transaction-store.simulated-latency=0s",
+        "graphql-tracing.sample-rate=0"
+})
+class FieldTracingInstrumentationTest {
+
+    private static final String FETCH_TRANSACTIONS_QUERY = """
+            query fetchTransactions {
+              userTransactionByUserSignature(userSignature: "user-signature-1") {
+                transactions(limit: 1) {
+                  amount
+                }
+              }
+            }
+            """;
+
+    @Autowired
+    private WebGraphQlHandler webGraphQlHandler;
+
+    @Autowired
+    private FieldTracingInstrumentation fieldTracingInstrumentation;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void whenTraceIsRequestedShouldReturnPhasesAndFieldsInExtensions() {
+        final var headers = new HttpHeaders();
+        headers.set(TraceRequestInterceptor.TRACE_HEADER, "true");
+
+        final WebGraphQlResponse response = execute(headers);
+
+        assertTrue(response.isValid());
+        final var tracing = (Map<?, ?>) response.getExtensions().get("tracing");
+        assertNotNull(tracing);
+        final var phases = (List<?>) tracing.get("phases");
+        assertEquals(List.of("parsing", "validation", "execution"),
+                phases.stream().map(phase -> ((Map<?, ?>) phase).get("name")).toList());
+        final var fields = (List<?>) tracing.get("fields");
+        assertTrue(fields.stream().anyMatch(field -> "/userTransactionByUserSignature/transactions".equals(((Map<?, ?>) field).get("path"))),
+                fields::toString);
+    }
+
+    @Test
+    void whenTracedRequestIsExecutedShouldRecordFieldTimer() {
+        final long countBefore = fieldTimerCount();
+        final var headers = new HttpHeaders();
+        headers.set(TraceRequestInterceptor.TRACE_HEADER, "true");
+
+        execute(headers);
+
+        assertTrue(fieldTimerCount() > countBefore);
+    }
+
+    @Test
+    void whenTraceIsNotRequestedAndRequestIsNotSampledShouldNotTrace() {
+        final long countBefore = fieldTimerCount();
+
+        final WebGraphQlResponse response = execute(new HttpHeaders());
+
+        assertTrue(response.isValid());
+        assertFalse(response.getExtensions().containsKey("tracing"));
+        assertEquals(countBefore, fieldTimerCount());
+    }
+
+    @Test
+    void whenTraceIsNotRequestedAndRequestIsNotSampledShouldRecordNoTimers() {
+        final long countBefore = graphQlTimerCount();
+
+        execute(new HttpHeaders());
+
+        assertEquals(countBefore, graphQlTimerCount());
+        assertTrue(meterRegistry.find("graphql.request").meters().isEmpty());
+        assertTrue(meterRegistry.find("graphql.datafetcher").meters().isEmpty());
+    }
+
+    @Test
+    void whenTraceIsNotRequestedAndRequestIsNotSampledShouldCreateNoInstrumentationState() {
+        final var executionInput = ExecutionInput.newExecutionInput(FETCH_TRANSACTIONS_QUERY).build();
+
+        assertNull(fieldTracingInstrumentation.createState(new InstrumentationCreateStateParameters(null, executionInput)));
+    }
+
+    private WebGraphQlResponse execute(final HttpHeaders headers) {
+        final var request = new WebGraphQlRequest(URI.create("http://localhost/graphql"), headers, null, null, Map.of(),
+                new DefaultGraphQlRequest(FETCH_TRANSACTIONS_QUERY), "1", Locale.ENGLISH);
+        return webGraphQlHandler.handleRequest(request).block();
+    }
+
+    private long fieldTimerCount() {
+        final Timer timer = meterRegistry.find("graphql.trace.field")
+                .tags("parentType", "UserTransaction", "field", "transactions")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long graphQlTimerCount() {
+        return meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith("graphql"))
+                .filter(Timer.class::isInstance)
+                .mapToLong(meter -> ((Timer) meter).count())
+                .sum();
+    }
+}
@@ -0,0 +1,115 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "transaction-store.size=1000",
+        "transaction-store.signatures=10",
+        "transaction-store.simulated-latency=0s",
+        "graphql-http-get.cache-control=max-age=60"
+})
+@AutoConfigureMockMvc
+class HttpGetGraphQlHandlerTest {
+
+    private static final String FETCH_TRANSACTIONS_QUERY = """
+            query fetchTransactions {
+              userTransactionByUserSignature(userSignature: "user-signature-1") {
+                transactions(limit: 1) {
+                  amount
+                }
+              }
+            }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenQueryIsSentWithGetShouldReturnResultWithETag() throws Exception {
+        final MvcResult mvcResult = performAsync(get("/graphql").param("query", FETCH_TRANSACTIONS_QUERY));
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60"))
+                .andExpect(jsonPath("$.data.userTransactionByUserSignature.transactions.length()").value(1));
+    }
+
+    @Test
+    void whenIfNoneMatchHeaderMatchesETagShouldReturnNotModified() throws Exception {
+        final String eTag = mockMvc.perform(asyncDispatch(performAsync(get("/graphql").param("query", FETCH_TRANSACTIONS_QUERY))))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        final MvcResult mvcResult = performAsync(get("/graphql")
+                .param("query", FETCH_TRANSACTIONS_QUERY)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        final var response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn()
+                .getResponse();
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void whenMutationIsSentWithGetShouldReturnMethodNotAllowed() throws Exception {
+        mockMvc.perform(get("/graphql").param("query", "mutation createUser { createUser { name } }"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().string(HttpHeaders.ALLOW, "POST"));
+    }
+
+    @Test
+    void whenPersistedQueryHashIsUnknownShouldReturnPersistedQueryNotFound() throws Exception {
+        final String extensions = """
+                {"persistedQuery": {"version": 1, "sha256Hash": "%s"}}
+                """.formatted(PersistedQueryStore.sha256Hex("query unknown { __typename }"));
+
+        mockMvc.perform(get("/graphql").param("extensions", extensions))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors[0].message").value("PersistedQueryNotFound"))
+                .andExpect(jsonPath("$.errors[0].extensions.code").value("PERSISTED_QUERY_NOT_FOUND"));
+    }
+
+    @Test
+    void whenPersistedQueryHashDoesNotMatchQueryShouldReturnBadRequest() throws Exception {
+        final String extensions = """
+                {"persistedQuery": {"version": 1, "sha256Hash": "%s"}}
+                """.formatted(PersistedQueryStore.sha256Hex("query other { __typename }"));
+
+        mockMvc.perform(get("/graphql")
+                        .param("query", FETCH_TRANSACTIONS_QUERY)
+                        .param("extensions", extensions))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].extensions.code").value("PERSISTED_QUERY_HASH_MISMATCH"))
+                .andExpect(jsonPath("$.errors[0].message", containsString("hash")));
+    }
+
+    private MvcResult performAsync(final RequestBuilder requestBuilder) throws Exception {
+        return mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
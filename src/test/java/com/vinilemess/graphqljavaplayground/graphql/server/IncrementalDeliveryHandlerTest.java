@@ -0,0 +1,86 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "transaction-store.size=1000",
+        "transaction-store.signatures=10",
+        "transaction-store.simulated-latency=0s"
+})
+@AutoConfigureMockMvc
+class IncrementalDeliveryHandlerTest {
+
+    private static final String DEFERRED_USER_QUERY = """
+            query fetchUserTransactions {
+              userTransactionByUserSignature(userSignature: "user-signature-1") {
+                userSignature
+                ... @defer {
+                  transactions(limit: 2) {
+                    dateTime
+                  }
+                }
+              }
+            }
+            """;
+    private static final String PART_DELIMITER = "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n";
+    private static final String CLOSE_DELIMITER = "\r\n-----\r\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void whenDeferredQueryAcceptsMultipartMixedShouldWriteInitialPartThenPatchThenCloseDelimiter() throws Exception {
+        final MvcResult mvcResult = mockMvc.perform(post("/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.MULTIPART_MIXED, MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("query", DEFERRED_USER_QUERY))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(IncrementalDeliveryHandler.MULTIPART_MIXED))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(body.startsWith(PART_DELIMITER), body);
+        assertTrue(body.endsWith(CLOSE_DELIMITER), body);
+        final String[] parts = body.substring(PART_DELIMITER.length(), body.length() - CLOSE_DELIMITER.length())
+                .split(Pattern.quote(PART_DELIMITER));
+        assertEquals(2, parts.length, body);
+
+        final Map<?, ?> initialPart = objectMapper.readValue(parts[0], Map.class);
+        assertEquals(Map.of("userTransactionByUserSignature", Map.of("userSignature", "user-signature-1")),
+                initialPart.get("data"));
+        assertEquals(true, initialPart.get("hasNext"));
+
+        final Map<?, ?> patchPart = objectMapper.readValue(parts[1], Map.class);
+        assertEquals(false, patchPart.get("hasNext"));
+        final Map<?, ?> patch = (Map<?, ?>) ((List<?>) patchPart.get("incremental")).getFirst();
+        assertEquals(List.of("userTransactionByUserSignature"), patch.get("path"));
+        assertEquals(2, ((List<?>) ((Map<?, ?>) patch.get("data")).get("transactions")).size());
+    }
+}
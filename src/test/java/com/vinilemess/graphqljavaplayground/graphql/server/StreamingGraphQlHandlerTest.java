@@ -0,0 +1,202 @@
+package com.vinilemess.graphqljavaplayground.graphql.server;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Requests accepting {@code gzip} are served by {@link StreamingGraphQlHandler}, all others by the default
+ * Spring GraphQL endpoint. Responses below the compression threshold must be the same on both routes.
+ */
+@SpringBootTest(properties = {
+        "transaction-store.size=1000",
+        "transaction-store.signatures=10",
+        "transaction-store.simulated-latency=0s",
+        "graphql-response.compression.min-response-size=512"
+})
+@AutoConfigureMockMvc
+class StreamingGraphQlHandlerTest {
+
+    private static final String FETCH_TRANSACTIONS_QUERY = """
+            query fetchTransactions {
+              userTransactionByUserSignature(userSignature: "user-signature-1") {
+                transactions(limit: %d) {
+                  amount
+                  dateTime
+                }
+              }
+            }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void whenQueryAcceptsJsonShouldRespondAsDefaultEndpoint() throws Exception {
+        assertSameResponse(post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(requestBody(FETCH_TRANSACTIONS_QUERY.formatted(1))));
+    }
+
+    @Test
+    void whenQueryAcceptsGraphQlResponseShouldRespondAsDefaultEndpoint() throws Exception {
+        assertSameResponse(post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_GRAPHQL_RESPONSE, MediaType.APPLICATION_JSON)
+                .content(requestBody(FETCH_TRANSACTIONS_QUERY.formatted(1))));
+    }
+
+    @Test
+    void whenQueryAcceptsAnyMediaTypeShouldRespondAsDefaultEndpoint() throws Exception {
+        assertSameResponse(post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content(requestBody(FETCH_TRANSACTIONS_QUERY.formatted(1))));
+    }
+
+    @Test
+    void whenQueryHasNoAcceptHeaderShouldRespondAsDefaultEndpoint() throws Exception {
+        assertSameResponse(post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody(FETCH_TRANSACTIONS_QUERY.formatted(1))));
+    }
+
+    @Test
+    void whenQueryIsInvalidShouldRespondWithSameErrorsAsDefaultEndpoint() throws Exception {
+        final MockHttpServletResponse response = assertSameResponse(post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(requestBody("query fetchTransactions { userTransactionByUserSignature(")));
+
+        assertTrue(response.getContentAsString(StandardCharsets.UTF_8).contains("errors"));
+    }
+
+    @Test
+    void whenRequestHasNoQueryShouldRespondWithSameStatusAsDefaultEndpoint() throws Exception {
+        final MockHttpServletRequestBuilder request = post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("{\"variables\": {}}");
+
+        assertEquals(perform(request).getStatus(), perform(request.header(HttpHeaders.ACCEPT_ENCODING, "gzip")).getStatus());
+    }
+
+    @Test
+    void whenRequestBodyIsMalformedShouldRespondWithSameStatusAsDefaultEndpoint() throws Exception {
+        final MockHttpServletRequestBuilder request = post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("{\"query\": ");
+
+        assertEquals(perform(request).getStatus(), perform(request.header(HttpHeaders.ACCEPT_ENCODING, "gzip")).getStatus());
+    }
+
+    @Test
+    void whenResponseExceedsThresholdShouldCompressIt() throws Exception {
+        final MockHttpServletRequestBuilder request = post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(requestBody(FETCH_TRANSACTIONS_QUERY.formatted(100)));
+        final MockHttpServletResponse uncompressed = perform(request);
+
+        final MockHttpServletResponse compressed = perform(request.header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertEquals(200, compressed.getStatus());
+        assertEquals("gzip", compressed.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(compressed.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, compressed.getContentType());
+        assertEquals(uncompressed.getContentAsString(StandardCharsets.UTF_8), gunzip(compressed.getContentAsByteArray()));
+    }
+
+    @Test
+    void shouldWriteResultBeforeItsSerializationFinishes() throws IOException {
+        final var outputStream = new ByteArrayOutputStream();
+        final List<Integer> bytesWrittenByElement = new ArrayList<>();
+        final List<Map<String, Object>> transactions = new AbstractList<>() {
+            @Override
+            public Map<String, Object> get(final int index) {
+                bytesWrittenByElement.add(outputStream.size());
+                return Map.of("amount", "10.00");
+            }
+
+            @Override
+            public int size() {
+                return 10_000;
+            }
+        };
+        final ExecutionResult result = ExecutionResult.newExecutionResult()
+                .data(Map.of("transactions", transactions))
+                .build();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            StreamingGraphQlHandler.writeResult(generator, result);
+        }
+
+        // all but the generator's buffer was written out before the last element was even read
+        assertTrue(bytesWrittenByElement.getLast() > outputStream.size() / 2,
+                () -> bytesWrittenByElement.getLast() + " of " + outputStream.size() + " bytes written");
+        assertEquals(objectMapper.writeValueAsString(result.toSpecification()), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Performs the request once as is and once accepting {@code gzip}, and checks that both responses have the
+     * same status, content type and body.
+     */
+    private MockHttpServletResponse assertSameResponse(final MockHttpServletRequestBuilder request) throws Exception {
+        final MockHttpServletResponse expected = perform(request);
+
+        final MockHttpServletResponse actual = perform(request.header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertNull(actual.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getContentType(), actual.getContentType());
+        assertEquals(expected.getContentAsString(StandardCharsets.UTF_8), actual.getContentAsString(StandardCharsets.UTF_8));
+        return actual;
+    }
+
+    private MockHttpServletResponse perform(final MockHttpServletRequestBuilder request) throws Exception {
+        final MvcResult mvcResult = mockMvc.perform(request).andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(mvcResult)).andReturn().getResponse();
+        }
+        return mvcResult.getResponse();
+    }
+
+    private String requestBody(final String query) throws IOException {
+        return objectMapper.writeValueAsString(Map.of("query", query));
+    }
+
+    private static String gunzip(final byte[] bytes) throws IOException {
+        try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.vinilemess.graphqljavaplayground.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLoopLoadGeneratorTest {
+
+    @Test
+    void shouldStartEachRequestNoEarlierThanItsIntendedStartTime() throws InterruptedException {
+        final var loadGenerator = new OpenLoopLoadGenerator(100, 4, Duration.ZERO, Duration.ofMillis(200));
+        final Map<Long, Long> startNanosBySequence = new ConcurrentHashMap<>();
+        final long beforeNanos = System.nanoTime();
+
+        final LoadTestResult result = loadGenerator.run(sequence -> startNanosBySequence.put(sequence, System.nanoTime()));
+
+        assertEquals(20, result.requests());
+        assertEquals(LongStream.range(0, 20).boxed().toList(), startNanosBySequence.keySet().stream().sorted().toList());
+        final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        startNanosBySequence.forEach((sequence, startNanos) ->
+                assertTrue(startNanos - beforeNanos >= sequence * intervalNanos, "request " + sequence + " started early"));
+    }
+
+    @Test
+    void shouldNotRecordRequestsIntendedToStartDuringWarmup() throws InterruptedException {
+        final var loadGenerator = new OpenLoopLoadGenerator(100, 4, Duration.ofMillis(100), Duration.ofMillis(200));
+        final Map<Long, Long> startNanosBySequence = new ConcurrentHashMap<>();
+
+        final LoadTestResult result = loadGenerator.run(sequence -> startNanosBySequence.put(sequence, System.nanoTime()));
+
+        assertEquals(30, startNanosBySequence.size());
+        assertEquals(20, result.requests());
+        assertEquals(0, result.failures());
+    }
+
+    @Test
+    void whenRequestsQueueUpShouldMeasureLatencyFromIntendedStartTime() throws InterruptedException {
+        // one worker and 50ms responses for a request every 10ms: request n completes after (n + 1) * 50ms
+        // although it was due at n * 10ms, so the queueing delay has to show in its latency
+        final var loadGenerator = new OpenLoopLoadGenerator(100, 1, Duration.ZERO, Duration.ofMillis(100));
+
+        final LoadTestResult result = loadGenerator.run(sequence -> sleep(Duration.ofMillis(50)));
+
+        assertEquals(10, result.requests());
+        assertTrue(result.maxMicros() >= 400_000, result::toString);
+        assertTrue(result.p50Micros() >= 200_000, result::toString);
+    }
+
+    @Test
+    void whenRequestThrowsShouldRecordItAsFailure() throws InterruptedException {
+        final var loadGenerator = new OpenLoopLoadGenerator(100, 4, Duration.ZERO, Duration.ofMillis(100));
+
+        final LoadTestResult result = loadGenerator.run(sequence -> {
+            if (sequence % 2 == 0) {
+                throw new IllegalStateException("request " + sequence + " failed");
+            }
+        });
+
+        assertEquals(10, result.requests());
+        assertEquals(5, result.failures());
+    }
+
+    private static void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}